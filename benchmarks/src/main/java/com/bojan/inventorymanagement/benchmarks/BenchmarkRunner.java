@@ -0,0 +1,34 @@
+package com.bojan.inventorymanagement.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of benchmarks.jar.
+ * Accepts the regular JMH command line options, but always attaches the GC profiler, so every
+ * result reports the allocation rate per operation ({@code gc.alloc.rate.norm}) next to the time,
+ * and writes the results as JSON to {@code target/jmh-result.json} unless {@code -rff} is given,
+ * so two runs can be compared.
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class);
+        if (commandLine.getResult().hasValue()) {
+            new Runner(options.build()).run();
+            return;
+        }
+        new Runner(options
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-result.json")
+                .build()).run();
+    }
+
+}
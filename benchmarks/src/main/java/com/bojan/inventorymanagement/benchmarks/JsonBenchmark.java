@@ -0,0 +1,64 @@
+package com.bojan.inventorymanagement.benchmarks;
+
+import com.bojan.inventorymanagement.dto.ProductDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of product pages, as returned by the product list endpoints, and
+ * deserialization of a single product request body.
+ * The mapper is built like Spring Boot's; {@code blackbird} additionally registers the Blackbird
+ * module, which replaces reflective property access with generated lambdas.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class JsonBenchmark {
+
+    @Param({"default", "blackbird"})
+    private String mapper;
+
+    @Param({"1", "50", "500"})
+    private int pageSize;
+
+    private ObjectWriter pageWriter;
+    private ObjectReader productReader;
+    private List<ProductDTO> page;
+    private byte[] productJson;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        if (mapper.equals("blackbird")) {
+            builder.modulesToInstall(new BlackbirdModule());
+        }
+        ObjectMapper objectMapper = builder.build();
+        page = SampleData.productDTOs(pageSize);
+        pageWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, ProductDTO.class));
+        productReader = objectMapper.readerFor(ProductDTO.class);
+        productJson = objectMapper.writeValueAsBytes(SampleData.productDTO(1));
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return pageWriter.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public ProductDTO deserializeProduct() throws IOException {
+        return productReader.readValue(productJson);
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.bojan.inventorymanagement.benchmarks;
+
+import com.bojan.inventorymanagement.dto.CategoryDTO;
+import com.bojan.inventorymanagement.dto.ProductDTO;
+import com.bojan.inventorymanagement.dto.SupplierDTO;
+import com.bojan.inventorymanagement.mapper.CategoryMapper;
+import com.bojan.inventorymanagement.mapper.ProductMapper;
+import com.bojan.inventorymanagement.mapper.SupplierMapper;
+import com.bojan.inventorymanagement.model.Category;
+import com.bojan.inventorymanagement.model.Product;
+import com.bojan.inventorymanagement.model.Supplier;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity/DTO conversions done on every request, through the Lombok builders of the mappers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    private Product product;
+    private ProductDTO productDTO;
+    private Category category;
+    private CategoryDTO categoryDTO;
+    private Supplier supplier;
+    private SupplierDTO supplierDTO;
+
+    @Setup
+    public void setUp() {
+        product = SampleData.product(1);
+        productDTO = SampleData.productDTO(1);
+        category = SampleData.category();
+        categoryDTO = SampleData.categoryDTO();
+        supplier = SampleData.supplier();
+        supplierDTO = SampleData.supplierDTO();
+    }
+
+    @Benchmark
+    public ProductDTO productToDto() {
+        return ProductMapper.toDTO(product);
+    }
+
+    @Benchmark
+    public Product productToEntity() {
+        return ProductMapper.toEntity(productDTO, category, supplier);
+    }
+
+    @Benchmark
+    public CategoryDTO categoryToDto() {
+        return CategoryMapper.toDto(category);
+    }
+
+    @Benchmark
+    public Category categoryToEntity() {
+        return CategoryMapper.toEntity(categoryDTO);
+    }
+
+    @Benchmark
+    public SupplierDTO supplierToDto() {
+        return SupplierMapper.toDto(supplier);
+    }
+
+    @Benchmark
+    public Supplier supplierToEntity() {
+        return SupplierMapper.toEntity(supplierDTO);
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.bojan.inventorymanagement.benchmarks;
+
+import com.bojan.inventorymanagement.dto.CategoryDTO;
+import com.bojan.inventorymanagement.dto.ProductDTO;
+import com.bojan.inventorymanagement.dto.SupplierDTO;
+import com.bojan.inventorymanagement.model.Category;
+import com.bojan.inventorymanagement.model.Product;
+import com.bojan.inventorymanagement.model.Supplier;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Realistic entities and DTOs shared by the benchmarks.
+ */
+final class SampleData {
+
+    private SampleData() {
+    }
+
+    static Category category() {
+        return Category.builder()
+                .id(7L)
+                .name("Electronics")
+                .description("Devices and gadgets")
+                .reorderThreshold(5)
+                .version(3)
+                .build();
+    }
+
+    static Supplier supplier() {
+        return Supplier.builder()
+                .id(11L)
+                .name("Tech Warehouse")
+                .contactName("Alice Smith")
+                .email("alice@tech.com")
+                .phone("123-456-7890")
+                .address("123 Oak Street")
+                .version(2)
+                .build();
+    }
+
+    static Product product(long id) {
+        return Product.builder()
+                .id(id)
+                .name("Laptop " + id)
+                .description("15 inch laptop with 16 GB of memory")
+                .price(new BigDecimal("1499.99"))
+                .quantity(42)
+                .unit("pcs")
+                .reorderThreshold(10)
+                .category(category())
+                .supplier(supplier())
+                .version(5)
+                .build();
+    }
+
+    static ProductDTO productDTO(long id) {
+        return ProductDTO.builder()
+                .id(id)
+                .name("Laptop " + id)
+                .description("15 inch laptop with 16 GB of memory")
+                .price(new BigDecimal("1499.99"))
+                .quantity(42)
+                .unit("pcs")
+                .reorderThreshold(10)
+                .categoryId(7L)
+                .supplierId(11L)
+                .version(5)
+                .build();
+    }
+
+    static List<ProductDTO> productDTOs(int size) {
+        List<ProductDTO> products = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            products.add(productDTO(i + 1));
+        }
+        return products;
+    }
+
+    static CategoryDTO categoryDTO() {
+        return new CategoryDTO(7L, "Electronics", "Devices and gadgets", 5, 3);
+    }
+
+    static SupplierDTO supplierDTO() {
+        return new SupplierDTO(11L, "Tech Warehouse", "Alice Smith", "alice@tech.com", "123-456-7890", "123 Oak Street", 2);
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.bojan.inventorymanagement.benchmarks;
+
+import com.bojan.inventorymanagement.dto.ProductDTO;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean Validation of a ProductDTO, as done for every created or updated product and every import row.
+ * The invalid case measures the cost of building constraint violations and their messages.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ValidationBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private ProductDTO valid;
+    private ProductDTO invalid;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        valid = SampleData.productDTO(1);
+        invalid = SampleData.productDTO(2);
+        invalid.setName(" ");
+        invalid.setPrice(BigDecimal.ZERO);
+        invalid.setQuantity(-1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ProductDTO>> validProduct() {
+        return validator.validate(valid);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ProductDTO>> invalidProduct() {
+        return validator.validate(invalid);
+    }
+
+}
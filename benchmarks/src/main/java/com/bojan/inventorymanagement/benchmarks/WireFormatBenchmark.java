@@ -0,0 +1,112 @@
+package com.bojan.inventorymanagement.benchmarks;
+
+import com.bojan.inventorymanagement.dto.CursorPage;
+import com.bojan.inventorymanagement.dto.ProductDTO;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cost of a product list page on the wire in each format the REST API offers: JSON, CBOR and
+ * Smile, each uncompressed and gzip compressed as with {@code server.compression}.
+ * {@code writePage} is the server's CPU per response, {@code readPage} the client's. The size of
+ * one page in bytes is printed by {@link #main}, outside the measurements.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class WireFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"identity", "gzip"})
+    private String encoding;
+
+    @Param({"50", "500"})
+    private int pageSize;
+
+    private ObjectWriter pageWriter;
+    private ObjectReader pageReader;
+    private CursorPage<ProductDTO> page;
+    private byte[] body;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Built like the application's HTTP message converters
+        ObjectMapper objectMapper = switch (format) {
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        JavaType pageType = objectMapper.getTypeFactory().constructParametricType(CursorPage.class, ProductDTO.class);
+        page = new CursorPage<>(SampleData.productDTOs(pageSize), "MTA");
+        // Vary the values, so compression and Smile's string back-references are not flattered by identical rows
+        Random random = new Random(42);
+        for (ProductDTO product : page.getItems()) {
+            product.setDescription("Model " + Long.toString(random.nextLong(), 36) + ", " + (4 << random.nextInt(4)) + " GB of memory");
+            product.setPrice(BigDecimal.valueOf(100 + random.nextInt(500_000), 2));
+            product.setQuantity(random.nextInt(1000));
+        }
+        pageWriter = objectMapper.writerFor(pageType);
+        pageReader = objectMapper.readerFor(pageType);
+        body = writePage();
+    }
+
+    @Benchmark
+    public byte[] writePage() throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (OutputStream out = encoding.equals("gzip") ? new GZIPOutputStream(buffer) : buffer) {
+            pageWriter.writeValue(out, page);
+        }
+        return buffer.toByteArray();
+    }
+
+    @Benchmark
+    public CursorPage<ProductDTO> readPage() throws IOException {
+        InputStream in = new ByteArrayInputStream(body);
+        try (InputStream decoded = encoding.equals("gzip") ? new GZIPInputStream(in) : in) {
+            return pageReader.readValue(decoded);
+        }
+    }
+
+    /**
+     * Prints the size of one page for every combination of the benchmark parameters.
+     */
+    public static void main(String[] args) throws Exception {
+        WireFormatBenchmark benchmark = new WireFormatBenchmark();
+        for (String format : params("format")) {
+            for (String encoding : params("encoding")) {
+                for (String pageSize : params("pageSize")) {
+                    benchmark.format = format;
+                    benchmark.encoding = encoding;
+                    benchmark.pageSize = Integer.parseInt(pageSize);
+                    benchmark.setUp();
+                    System.out.printf("%s, %s, %s products: %d bytes per page%n", format, encoding, pageSize, benchmark.body.length);
+                }
+            }
+        }
+    }
+
+    private static String[] params(String field) throws NoSuchFieldException {
+        return WireFormatBenchmark.class.getDeclaredField(field).getAnnotation(Param.class).value();
+    }
+
+}
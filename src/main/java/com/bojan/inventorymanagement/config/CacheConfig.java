@@ -0,0 +1,30 @@
+package com.bojan.inventorymanagement.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables Spring's cache abstraction.
+ * The caches themselves are Caffeine caches configured in application.properties
+ * (size bound, time to live and statistics recording).
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /** Categories by ID */
+    public static final String CATEGORIES = "categories";
+
+    /** The full list of categories, used by the product forms */
+    public static final String CATEGORY_LISTS = "categoryLists";
+
+    /** Suppliers by ID */
+    public static final String SUPPLIERS = "suppliers";
+
+    /** The full list of suppliers, used by the product forms */
+    public static final String SUPPLIER_LISTS = "supplierLists";
+
+    /** Rendered product table fragments of the product list page, by data version and page */
+    public static final String PRODUCT_LIST_PAGES = "productListPages";
+
+}
@@ -0,0 +1,25 @@
+package com.bojan.inventorymanagement.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Metrics of the service layer, on top of what Actuator records out of the box: HTTP requests per
+ * handler, Spring Data repository calls, the Hikari pool, Hibernate statistics, caches and the JVM.
+ * Service classes annotated with {@code @Timed(MetricsConfig.SERVICE_TIMER)} get a timer per method,
+ * tagged with the class, the method and the exception thrown, if any.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /** Timer of the service layer methods */
+    public static final String SERVICE_TIMER = "inventory.service";
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+}
@@ -0,0 +1,118 @@
+package com.bojan.inventorymanagement.config;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Read-your-writes state of the current request.
+ * Once a request has written to the primary database, its later reads go to the primary as well,
+ * so it never reads a replica that has not caught up with its own changes yet. The client is
+ * additionally given a short-lived cookie, so the requests it sends right after a write (e.g. the
+ * redirect after a form post) also read from the primary.
+ * <p>
+ * Reads whose results are cached use the primary as well, see {@link #readFromPrimary}: a cache entry
+ * filled from a replica that lags behind a write would be served as current until it expires.
+ */
+public final class ReadYourWrites {
+
+    /** Cookie that sends a client's reads to the primary while it is present */
+    public static final String COOKIE = "inventory-read-primary";
+
+    private static final ThreadLocal<State> STATE = new ThreadLocal<>();
+
+    private static final ThreadLocal<Boolean> PRIMARY_READS = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    /**
+     * Starts tracking the request handled by the current thread.
+     *
+     * @param pinned whether the request's reads go to the primary from the start
+     * @param response the response, given the cookie on the first write
+     * @param window how long the client keeps reading from the primary after a write, zero for no cookie
+     */
+    static void begin(boolean pinned, HttpServletResponse response, Duration window) {
+        STATE.set(new State(pinned, response, window));
+    }
+
+    /**
+     * Stops tracking the request handled by the current thread.
+     */
+    static void end() {
+        STATE.remove();
+    }
+
+    /**
+     * Runs a read on the primary, e.g. to fill a cache. Does not pin the request or give the client
+     * the cookie. Only transactions started by the reader are affected: one that is already running
+     * keeps its connection.
+     *
+     * @param reader the read, starting its own read-only transactions
+     * @return the result of the read
+     */
+    public static <T> T readFromPrimary(Supplier<T> reader) {
+        if (PRIMARY_READS.get() != null) {
+            return reader.get();
+        }
+        PRIMARY_READS.set(Boolean.TRUE);
+        try {
+            return reader.get();
+        } finally {
+            PRIMARY_READS.remove();
+        }
+    }
+
+    /**
+     * Whether read-only transactions of the current thread have to use the primary.
+     *
+     * @return true if the current request wrote or was pinned by its cookie, or inside {@link #readFromPrimary}
+     */
+    static boolean requiresPrimary() {
+        State state = STATE.get();
+        return PRIMARY_READS.get() != null || state != null && state.pinned;
+    }
+
+    /**
+     * Records that the current request starts a write. Has no effect outside a request,
+     * e.g. in the background jobs.
+     */
+    static void recordWrite() {
+        State state = STATE.get();
+        if (state == null || state.written) {
+            return;
+        }
+        state.written = true;
+        state.pinned = true;
+        // A streaming response may already be on its way, then only this request is pinned
+        if (!state.window.isZero() && !state.response.isCommitted()) {
+            Cookie cookie = new Cookie(COOKIE, "1");
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, state.window.toSeconds()));
+            state.response.addCookie(cookie);
+        }
+    }
+
+    private static final class State {
+
+        private final HttpServletResponse response;
+
+        private final Duration window;
+
+        private boolean pinned;
+
+        private boolean written;
+
+        private State(boolean pinned, HttpServletResponse response, Duration window) {
+            this.pinned = pinned;
+            this.response = response;
+            this.window = window;
+        }
+
+    }
+
+}
@@ -0,0 +1,16 @@
+package com.bojan.inventorymanagement.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables the scheduled background jobs, e.g. the valuation reconciliation.
+ * Can be switched off with {@code inventory.scheduling.enabled=false}, which the tests do
+ * so that no job runs concurrently with them.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "inventory.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+}
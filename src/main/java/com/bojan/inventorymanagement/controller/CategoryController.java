@@ -1,16 +1,31 @@
 package com.bojan.inventorymanagement.controller;
 
+import com.bojan.inventorymanagement.dto.BatchItemErrorDTO;
+import com.bojan.inventorymanagement.dto.BatchResultDTO;
+import com.bojan.inventorymanagement.dto.BulkDeleteDTO;
+import com.bojan.inventorymanagement.dto.BulkOperationResultDTO;
 import com.bojan.inventorymanagement.dto.CategoryDTO;
+import com.bojan.inventorymanagement.dto.CursorPage;
+import com.bojan.inventorymanagement.exception.BadRequestException;
 import com.bojan.inventorymanagement.exception.ResourceNotFoundException;
 import com.bojan.inventorymanagement.mapper.CategoryMapper;
 import com.bojan.inventorymanagement.model.Category;
 import com.bojan.inventorymanagement.service.CategoryService;
+import com.bojan.inventorymanagement.util.CursorCodec;
+import com.bojan.inventorymanagement.util.ETags;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -22,8 +37,9 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class CategoryController {
 
-    // Injected service for handling business logic
+    // Injected services for handling business logic
     private final CategoryService categoryService;
+    private final Validator validator;
 
     /**
      * Endpoint to create a new category.
@@ -42,46 +58,98 @@ public class CategoryController {
     }
 
     /**
-     * Endpoint to fetch all categories.
+     * Endpoint to create many categories in one call.
+     * Every item is validated on its own; valid items are inserted in JDBC batches, while
+     * invalid items are reported back with their position instead of failing the whole request.
      *
-     * @return a list of all categories as DTOs
+     * @param categoryDTOs the categories to be created
+     * @return the created categories and an error entry for every rejected item
      */
-    @GetMapping
-    public ResponseEntity<List<CategoryDTO>> getAllCategories() {
-        List<CategoryDTO> categories = categoryService.getAllCategories().stream()
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResultDTO<CategoryDTO>> createCategories(@RequestBody List<CategoryDTO> categoryDTOs) {
+        BatchResultDTO.checkSize(categoryDTOs.size());
+
+        List<Category> toSave = new ArrayList<>();
+        List<BatchItemErrorDTO> errors = new ArrayList<>();
+        for (int i = 0; i < categoryDTOs.size(); i++) {
+            CategoryDTO categoryDTO = categoryDTOs.get(i);
+            Set<ConstraintViolation<CategoryDTO>> violations = validator.validate(categoryDTO);
+            if (!violations.isEmpty()) {
+                errors.add(BatchItemErrorDTO.fromViolations(i, violations));
+                continue;
+            }
+            toSave.add(CategoryMapper.toEntity(categoryDTO));
+        }
+
+        List<CategoryDTO> created = categoryService.saveCategories(toSave).stream()
                 .map(CategoryMapper::toDto)
                 .collect(Collectors.toList());
-        return ResponseEntity.ok(categories);
+        return ResponseEntity.ok(new BatchResultDTO<>(created, errors));
+    }
+
+    /**
+     * Endpoint to fetch categories one keyset page at a time, ordered by ID.
+     * The next page is requested by passing the returned cursor as the {@code after} parameter.
+     *
+     * @param after the opaque cursor of the previous page, omitted for the first page
+     * @param limit the maximum number of categories to return
+     * @return a page of categories as DTOs together with the cursor for the next page
+     */
+    @GetMapping
+    public ResponseEntity<CursorPage<CategoryDTO>> getAllCategories(@RequestParam(required = false) String after,
+                                                                    @RequestParam(required = false) Integer limit) {
+        int pageSize = CursorPage.normalizeLimit(limit);
+        List<CategoryDTO> rows = categoryService.getCategoriesAfterId(CursorCodec.decodeId(after), pageSize + 1);
+        return pageResponse(CursorPage.of(rows, pageSize, Function.identity(),
+                category -> CursorCodec.encode(category.getId())));
     }
 
     /**
      * Endpoint to fetch a single category by its ID.
+     * Supports conditional requests: the response carries the category's ETag and
+     * a matching If-None-Match header is answered with 304 Not Modified.
      *
      * @param id the ID of the category
-     * @return the corresponding category DTO
+     * @param request the current request, used to evaluate If-None-Match
+     * @return the corresponding category DTO, or an empty 304 response if it did not change
      */
     @GetMapping("/{id}")
-    public ResponseEntity<CategoryDTO> getCategoryById(@PathVariable Long id) {
-        Category category = categoryService.getCategoryById(id)
+    public ResponseEntity<CategoryDTO> getCategoryById(@PathVariable Long id, WebRequest request) {
+        long version = categoryService.getCategoryVersion(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Category not found"));
+        // An unchanged category is answered with 304 Not Modified from its version alone, without loading the row.
+        // Otherwise the ETag header has already been set on the response.
+        if (request.checkNotModified(ETags.ofRow("category", id, version))) {
+            return null;
+        }
+        CategoryDTO category = categoryService.getCategoryDtoById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found"));
-        return ResponseEntity.ok(CategoryMapper.toDto(category));
+        return ResponseEntity.ok(category);
     }
 
     /**
      * Endpoint to update an existing category.
+     * When an If-Match header is sent, the update is only applied if the category still has that ETag.
      *
      * @param id the ID of the category to update
      * @param categoryDTO the updated category data
-     * @return the updated category as a DTO
+     * @param ifMatch the ETag the client based its changes on, optional
+     * @return the updated category as a DTO, or HTTP 409 Conflict if the category was modified in the meantime
      */
     @PutMapping("/{id}")
-    public ResponseEntity<CategoryDTO> updateCategory(@PathVariable Long id, @Valid @RequestBody CategoryDTO categoryDTO) {
+    public ResponseEntity<CategoryDTO> updateCategory(@PathVariable Long id, @Valid @RequestBody CategoryDTO categoryDTO,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = ETags.parseVersion(ifMatch, "category", id);
+
         Category toUpdate = new Category();
         toUpdate.setName(categoryDTO.getName());
         toUpdate.setDescription(categoryDTO.getDescription());
+        toUpdate.setReorderThreshold(categoryDTO.getReorderThreshold());
 
-        Category updated = categoryService.updateCategory(id, toUpdate);
-        return ResponseEntity.ok(CategoryMapper.toDto(updated));
+        Category updated = categoryService.updateCategory(id, toUpdate, expectedVersion);
+        return ResponseEntity.ok()
+                .eTag(ETags.ofRow("category", id, updated.getVersion()))
+                .body(CategoryMapper.toDto(updated));
     }
 
     /**
@@ -96,4 +164,28 @@ public class CategoryController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Endpoint to delete many categories by their IDs with a single DELETE statement.
+     *
+     * @param bulkDeleteDTO the IDs, and whether to only count the categories
+     * @return the number of categories deleted, or that would be deleted by a dry run
+     */
+    @PostMapping("/bulk-delete")
+    public ResponseEntity<BulkOperationResultDTO> deleteCategories(@Valid @RequestBody BulkDeleteDTO bulkDeleteDTO) {
+        if (bulkDeleteDTO.getIds() == null || bulkDeleteDTO.getIds().isEmpty() || bulkDeleteDTO.getFilter() != null) {
+            throw new BadRequestException("Categories can only be deleted by a list of ids");
+        }
+        return ResponseEntity.ok(categoryService.deleteCategories(bulkDeleteDTO.getIds(), bulkDeleteDTO.isDryRun()));
+    }
+
+    /**
+     * Wraps a page into a 200 response carrying the page's ETag.
+     * Spring answers a matching If-None-Match header with 304 Not Modified before the body is serialized.
+     */
+    private static ResponseEntity<CursorPage<CategoryDTO>> pageResponse(CursorPage<CategoryDTO> page) {
+        return ResponseEntity.ok()
+                .eTag(ETags.ofPage("category", page, CategoryDTO::getId, CategoryDTO::getVersion))
+                .body(page);
+    }
+
 }
@@ -1,20 +1,55 @@
 package com.bojan.inventorymanagement.controller;
 
+import com.bojan.inventorymanagement.dto.BatchItemErrorDTO;
+import com.bojan.inventorymanagement.dto.BatchResultDTO;
+import com.bojan.inventorymanagement.dto.BulkDeleteDTO;
+import com.bojan.inventorymanagement.dto.BulkOperationResultDTO;
+import com.bojan.inventorymanagement.dto.BulkPriceUpdateDTO;
+import com.bojan.inventorymanagement.dto.CursorPage;
+import com.bojan.inventorymanagement.dto.ImportProgressDTO;
 import com.bojan.inventorymanagement.dto.ProductDTO;
+import com.bojan.inventorymanagement.dto.ProductFilterDTO;
+import com.bojan.inventorymanagement.dto.StockAdjustmentDTO;
+import com.bojan.inventorymanagement.dto.StockLevelDTO;
+import com.bojan.inventorymanagement.exception.BadRequestException;
+import com.bojan.inventorymanagement.exception.InsufficientStockException;
 import com.bojan.inventorymanagement.exception.ResourceNotFoundException;
 import com.bojan.inventorymanagement.mapper.ProductMapper;
 import com.bojan.inventorymanagement.model.Category;
 import com.bojan.inventorymanagement.model.Product;
 import com.bojan.inventorymanagement.model.Supplier;
 import com.bojan.inventorymanagement.service.CategoryService;
+import com.bojan.inventorymanagement.service.ProductBulkService;
+import com.bojan.inventorymanagement.service.ProductImportService;
 import com.bojan.inventorymanagement.service.ProductService;
 import com.bojan.inventorymanagement.service.SupplierService;
+import com.bojan.inventorymanagement.util.CursorCodec;
+import com.bojan.inventorymanagement.util.ETags;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -26,10 +61,19 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ProductController {
 
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+    private static final String MERGE_PATCH_VALUE = "application/merge-patch+json";
+    private static final int EXPORT_FLUSH_INTERVAL = 1000;
+    private static final int MAX_SEARCH_OFFSET = 10_000;
+
     // Injected services for handling business logic
     private final ProductService productService;
     private final CategoryService categoryService;
     private final SupplierService supplierService;
+    private final ProductImportService productImportService;
+    private final ProductBulkService productBulkService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
 
     /**
      * Endpoint to create a new product.
@@ -51,40 +95,247 @@ public class ProductController {
     }
 
     /**
-     * Endpoint to fetch all products.
+     * Endpoint to create many products in one call.
+     * Every item is validated on its own and all referenced categories and suppliers are
+     * resolved with one query each. Valid items are inserted in JDBC batches, while invalid
+     * items are reported back with their position instead of failing the whole request.
      *
-     * @return a list of all products as DTOs
+     * @param productDTOs the products to be created
+     * @return the created products and an error entry for every rejected item
      */
-    @GetMapping
-    public ResponseEntity<List<ProductDTO>> getAllProducts() {
-        List<ProductDTO> products = productService.getAllProducts().stream()
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResultDTO<ProductDTO>> createProducts(@RequestBody List<ProductDTO> productDTOs) {
+        BatchResultDTO.checkSize(productDTOs.size());
+
+        // Resolve all referenced categories and suppliers up front
+        Map<Long, Category> categories = categoryService.getCategoriesByIds(productDTOs.stream()
+                        .map(ProductDTO::getCategoryId)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Category::getId, Function.identity()));
+        Map<Long, Supplier> suppliers = supplierService.getSuppliersByIds(productDTOs.stream()
+                        .map(ProductDTO::getSupplierId)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Supplier::getId, Function.identity()));
+
+        List<Product> toSave = new ArrayList<>();
+        List<BatchItemErrorDTO> errors = new ArrayList<>();
+        for (int i = 0; i < productDTOs.size(); i++) {
+            ProductDTO productDTO = productDTOs.get(i);
+            Set<ConstraintViolation<ProductDTO>> violations = validator.validate(productDTO);
+            if (!violations.isEmpty()) {
+                errors.add(BatchItemErrorDTO.fromViolations(i, violations));
+                continue;
+            }
+            Category category = categories.get(productDTO.getCategoryId());
+            if (category == null) {
+                errors.add(new BatchItemErrorDTO(i, "Category not found"));
+                continue;
+            }
+            Supplier supplier = suppliers.get(productDTO.getSupplierId());
+            if (supplier == null) {
+                errors.add(new BatchItemErrorDTO(i, "Supplier not found"));
+                continue;
+            }
+            Product product = ProductMapper.toEntity(productDTO, category, supplier);
+            product.setId(null);    // Batch endpoint only creates, never updates
+            toSave.add(product);
+        }
+
+        List<ProductDTO> created = productService.saveProducts(toSave).stream()
                 .map(ProductMapper::toDTO)
                 .collect(Collectors.toList());
-        return ResponseEntity.ok(products);
+        return ResponseEntity.ok(new BatchResultDTO<>(created, errors));
+    }
+
+    /**
+     * Endpoint to fetch products one keyset page at a time, optionally filtered.
+     * Pages are ordered by ID (default) or by name, and the next page is requested
+     * by passing the returned cursor as the {@code after} parameter.
+     * Filter criteria (category, supplier, price range, quantity, unit) are only supported with ID order.
+     *
+     * @param filter the optional filter criteria, bound from query parameters
+     * @param after the opaque cursor of the previous page, omitted for the first page
+     * @param limit the maximum number of products to return
+     * @param sort the sort key, either "id" or "name"
+     * @return a page of products as DTOs together with the cursor for the next page
+     */
+    @GetMapping
+    public ResponseEntity<CursorPage<ProductDTO>> getAllProducts(ProductFilterDTO filter,
+                                                                 @RequestParam(required = false) String after,
+                                                                 @RequestParam(required = false) Integer limit,
+                                                                 @RequestParam(defaultValue = "id") String sort) {
+        int pageSize = CursorPage.normalizeLimit(limit);
+
+        if ("name".equals(sort)) {
+            if (!filter.isEmpty()) {
+                throw new BadRequestException("Filters are only supported when sorting by id");
+            }
+            String afterName = null;
+            long afterId = 0L;
+            if (after != null && !after.isBlank()) {
+                String[] keys = CursorCodec.decode(after, 2);
+                afterName = keys[0];
+                afterId = CursorCodec.parseId(keys[1]);
+            }
+            List<ProductDTO> rows = productService.getProductsAfterName(afterName, afterId, pageSize + 1);
+            return pageResponse(CursorPage.of(rows, pageSize, Function.identity(),
+                    product -> CursorCodec.encode(product.getName(), product.getId())));
+        }
+
+        if (!"id".equals(sort)) {
+            throw new BadRequestException("Unsupported sort key: " + sort);
+        }
+        List<ProductDTO> rows = productService.getProductsAfterId(filter, CursorCodec.decodeId(after), pageSize + 1);
+        return pageResponse(CursorPage.of(rows, pageSize, Function.identity(),
+                product -> CursorCodec.encode(product.getId())));
+    }
+
+    /**
+     * Endpoint to search products by name and description, best match first.
+     * Uses full-text matching with ranking plus trigram similarity on the name, so small typos still match.
+     *
+     * @param q the search text
+     * @param after the opaque cursor of the previous page, omitted for the first page
+     * @param limit the maximum number of products to return
+     * @return a page of matching products as DTOs together with the cursor for the next page
+     */
+    @GetMapping("/search")
+    public ResponseEntity<CursorPage<ProductDTO>> searchProducts(@RequestParam String q,
+                                                                 @RequestParam(required = false) String after,
+                                                                 @RequestParam(required = false) Integer limit) {
+        if (q.isBlank()) {
+            throw new BadRequestException("Search text must not be empty");
+        }
+        int pageSize = CursorPage.normalizeLimit(limit);
+        // Results are ranked, so the cursor holds the offset of the next page
+        long offset = CursorCodec.decodeId(after);
+        if (offset < 0 || offset > MAX_SEARCH_OFFSET) {
+            throw new BadRequestException("Search results are limited to the first " + MAX_SEARCH_OFFSET + " matches");
+        }
+        List<ProductDTO> rows = productService.searchProducts(q, (int) offset, pageSize + 1);
+        return pageResponse(CursorPage.of(rows, pageSize, Function.identity(),
+                product -> CursorCodec.encode(offset + pageSize)));
+    }
+
+    /**
+     * Endpoint to export the full product catalog as newline-delimited JSON.
+     * Products are streamed from a database cursor and written one line at a time,
+     * so memory use does not depend on the catalog size.
+     *
+     * @return a streaming response containing one product DTO per line
+     */
+    @GetMapping(value = "/export", produces = NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportProducts() {
+        // Keep the response stream open and let this method decide when to flush
+        ObjectWriter writer = objectMapper.writerFor(ProductDTO.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        StreamingResponseBody body = outputStream -> {
+            long[] written = {0};
+            productService.exportProducts(product -> {
+                try {
+                    writer.writeValue(outputStream, ProductMapper.toDTO(product));
+                    outputStream.write('\n');
+                    // Push the first line out immediately, then flush in chunks
+                    if (written[0]++ % EXPORT_FLUSH_INTERVAL == 0) {
+                        outputStream.flush();
+                    }
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+            outputStream.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON_VALUE))
+                .body(body);
+    }
+
+    /**
+     * Endpoint to import products from a CSV file, e.g. a supplier price list.
+     * The file is processed as a stream and the response reports the progress as newline-delimited
+     * JSON: one line per processed chunk, listing the rows rejected in it, and a final line with status
+     * DONE, or FAILED if the import was aborted. Valid rows are only applied once the whole file has
+     * been read, so a failed import leaves the products unchanged.
+     *
+     * @param file the CSV file, with the header name, description, price, quantity, unit, category, supplier, reorderThreshold
+     * @return a streaming response containing the progress reports
+     */
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE, produces = NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> importProducts(@RequestParam("file") MultipartFile file) {
+        if (file.isEmpty()) {
+            throw new BadRequestException("The uploaded file is empty");
+        }
+        ObjectWriter writer = objectMapper.writerFor(ImportProgressDTO.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        StreamingResponseBody body = outputStream -> {
+            Consumer<ImportProgressDTO> progress = report -> {
+                try {
+                    writer.writeValue(outputStream, report);
+                    outputStream.write('\n');
+                    outputStream.flush();
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            };
+            try {
+                productImportService.importProducts(file.getInputStream(), file.getOriginalFilename(), progress);
+            } catch (RuntimeException ex) {
+                // Bad headers and malformed CSV are the client's fault and worth reporting verbatim
+                boolean clientError = ex instanceof BadRequestException || ex instanceof UncheckedIOException;
+                progress.accept(ImportProgressDTO.builder()
+                        .status(ImportProgressDTO.Status.FAILED)
+                        .message(clientError ? ex.getMessage() : "The import failed and was rolled back")
+                        .build());
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON_VALUE))
+                .body(body);
     }
 
     /**
      * Endpoint to fetch a single product by its ID.
+     * Supports conditional requests: the response carries the product's ETag and
+     * a matching If-None-Match header is answered with 304 Not Modified.
      *
      * @param id the ID of the product
-     * @return the corresponding product DTO
+     * @param request the current request, used to evaluate If-None-Match
+     * @return the corresponding product DTO, or an empty 304 response if it did not change
      */
     @GetMapping("/{id}")
-    public ResponseEntity<ProductDTO> getProductById(@PathVariable Long id) {
-        Product product = productService.getProductById(id)
+    public ResponseEntity<ProductDTO> getProductById(@PathVariable Long id, WebRequest request) {
+        long version = productService.getProductVersion(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found"));
+        // An unchanged product is answered with 304 Not Modified from its version alone, without loading the row.
+        // Otherwise the ETag header has already been set on the response.
+        if (request.checkNotModified(ETags.ofRow("product", id, version))) {
+            return null;
+        }
+        ProductDTO product = productService.getProductDtoById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found"));
-        return ResponseEntity.ok(ProductMapper.toDTO(product));
+        return ResponseEntity.ok(product);
     }
 
     /**
      * Endpoint to update an existing product.
+     * When an If-Match header is sent, the update is only applied if the product still has that ETag.
      *
      * @param id the ID of the product to update
      * @param productDTO the updated product data
-     * @return the updated product as a DTO
+     * @param ifMatch the ETag the client based its changes on, optional
+     * @return the updated product as a DTO, or HTTP 409 Conflict if the product was modified in the meantime
      */
     @PutMapping("/{id}")
-    public ResponseEntity<ProductDTO> updateProduct(@PathVariable Long id, @Valid @RequestBody ProductDTO productDTO) {
+    public ResponseEntity<ProductDTO> updateProduct(@PathVariable Long id, @Valid @RequestBody ProductDTO productDTO,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = ETags.parseVersion(ifMatch, "product", id);
+
         Category category = categoryService.getCategoryById(productDTO.getCategoryId())
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found"));
 
@@ -92,8 +343,114 @@ public class ProductController {
                 .orElseThrow(() -> new ResourceNotFoundException("Supplier not found"));
 
         Product updatedEntity = ProductMapper.toEntity(productDTO, category, supplier);
-        Product updated = productService.updateProduct(id, updatedEntity);
-        return ResponseEntity.ok(ProductMapper.toDTO(updated));
+        Product updated = productService.updateProduct(id, updatedEntity, expectedVersion);
+        return ResponseEntity.ok()
+                .eTag(ETags.ofRow("product", id, updated.getVersion()))
+                .body(ProductMapper.toDTO(updated));
+    }
+
+    /**
+     * Endpoint to partially update a product using a JSON merge patch (RFC 7396).
+     * Only the fields present in the patch are changed; the category and supplier are only
+     * looked up when the patch changes them. The update is rejected with HTTP 409 Conflict
+     * if the product was modified since the version in the If-Match header, or since it was
+     * read for this request when no If-Match header is sent.
+     *
+     * @param id the ID of the product to update
+     * @param patch the fields to change
+     * @param ifMatch the ETag the client based its changes on, optional
+     * @return the updated product as a DTO
+     */
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<ProductDTO> patchProduct(@PathVariable Long id, @RequestBody JsonNode patch,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = ETags.parseVersion(ifMatch, "product", id);
+        if (!patch.isObject()) {
+            throw new BadRequestException("A merge patch must be a JSON object");
+        }
+
+        ProductDTO current = productService.getProductDtoById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found"));
+        Long currentCategoryId = current.getCategoryId();
+        Long currentSupplierId = current.getSupplierId();
+        long currentVersion = current.getVersion();
+
+        ProductDTO patched;
+        try {
+            patched = objectMapper.readerForUpdating(current).readValue(patch);
+        } catch (IOException ex) {
+            throw new BadRequestException("Invalid patch: " + ex.getMessage());
+        }
+        // The ID and version are taken from the URL and the stored row, never from the patch
+        patched.setId(id);
+
+        Set<ConstraintViolation<ProductDTO>> violations = validator.validate(patched);
+        if (!violations.isEmpty()) {
+            throw new BadRequestException(BatchItemErrorDTO.fromViolations(0, violations).getMessage());
+        }
+
+        Category category = Objects.equals(patched.getCategoryId(), currentCategoryId) ? null
+                : categoryService.getCategoryById(patched.getCategoryId())
+                        .orElseThrow(() -> new ResourceNotFoundException("Category not found"));
+        Supplier supplier = Objects.equals(patched.getSupplierId(), currentSupplierId) ? null
+                : supplierService.getSupplierById(patched.getSupplierId())
+                        .orElseThrow(() -> new ResourceNotFoundException("Supplier not found"));
+
+        Product updated = productService.updateProduct(id, ProductMapper.toEntity(patched, category, supplier),
+                expectedVersion != null ? expectedVersion : currentVersion);
+        ProductDTO body = ProductMapper.toDTO(updated);
+        // Unchanged references are not loaded, so the IDs are taken from the patched DTO
+        body.setCategoryId(patched.getCategoryId());
+        body.setSupplierId(patched.getSupplierId());
+        return ResponseEntity.ok()
+                .eTag(ETags.ofRow("product", id, updated.getVersion()))
+                .body(body);
+    }
+
+    /**
+     * Endpoint to adjust a product's stock level by a signed delta.
+     * The change is applied atomically in the database, so concurrent adjustments never lose updates.
+     *
+     * @param id the ID of the product
+     * @param adjustmentDTO the delta to apply, negative to remove stock
+     * @return the new stock level, or HTTP 409 Conflict if the stock would drop below zero
+     */
+    @PostMapping("/{id}/stock")
+    public ResponseEntity<StockLevelDTO> adjustStock(@PathVariable Long id, @Valid @RequestBody StockAdjustmentDTO adjustmentDTO) {
+        int quantity = productService.adjustStock(id, adjustmentDTO.getDelta(), adjustmentDTO.getType(), adjustmentDTO.getReason());
+        return ResponseEntity.ok(new StockLevelDTO(id, quantity));
+    }
+
+    /**
+     * Endpoint to adjust the stock levels of many products in one call.
+     * Every adjustment is applied atomically on its own, so a row lock is held only for the
+     * duration of its single UPDATE. Adjustments that fail are reported back with their
+     * position instead of failing the whole request.
+     *
+     * @param adjustmentDTOs the product IDs and deltas to apply
+     * @return the new stock levels and an error entry for every rejected adjustment
+     */
+    @PostMapping("/stock")
+    public ResponseEntity<BatchResultDTO<StockLevelDTO>> adjustStock(@RequestBody List<StockAdjustmentDTO> adjustmentDTOs) {
+        BatchResultDTO.checkSize(adjustmentDTOs.size());
+
+        List<StockLevelDTO> levels = new ArrayList<>();
+        List<BatchItemErrorDTO> errors = new ArrayList<>();
+        for (int i = 0; i < adjustmentDTOs.size(); i++) {
+            StockAdjustmentDTO adjustmentDTO = adjustmentDTOs.get(i);
+            if (adjustmentDTO.getProductId() == null || adjustmentDTO.getDelta() == null) {
+                errors.add(new BatchItemErrorDTO(i, "productId and delta are required"));
+                continue;
+            }
+            try {
+                int quantity = productService.adjustStock(adjustmentDTO.getProductId(), adjustmentDTO.getDelta(),
+                        adjustmentDTO.getType(), adjustmentDTO.getReason());
+                levels.add(new StockLevelDTO(adjustmentDTO.getProductId(), quantity));
+            } catch (ResourceNotFoundException | InsufficientStockException ex) {
+                errors.add(new BatchItemErrorDTO(i, ex.getMessage()));
+            }
+        }
+        return ResponseEntity.ok(new BatchResultDTO<>(levels, errors));
     }
 
     /**
@@ -108,4 +465,40 @@ public class ProductController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Endpoint to delete many products, selected by a list of IDs or by the same filter criteria as the product list.
+     * Products are deleted in chunks with one DELETE statement each, together with their low-stock alerts and
+     * their share of the valuation; their remaining stock is booked out in the stock ledger.
+     *
+     * @param bulkDeleteDTO the IDs or the filter, an optional chunk size, and whether to only count the products
+     * @return the number of products deleted, or that would be deleted by a dry run
+     */
+    @PostMapping("/bulk-delete")
+    public ResponseEntity<BulkOperationResultDTO> deleteProducts(@Valid @RequestBody BulkDeleteDTO bulkDeleteDTO) {
+        return ResponseEntity.ok(productBulkService.deleteProducts(bulkDeleteDTO));
+    }
+
+    /**
+     * Endpoint to change the prices of all products of a category and/or supplier by a percentage.
+     * Products are repriced in chunks with one UPDATE statement each, which bumps their version.
+     *
+     * @param priceUpdateDTO the category and/or supplier, the percentage, the rounding, an optional chunk size,
+     *                       and whether to only count the products
+     * @return the number of products repriced, or that would be repriced by a dry run
+     */
+    @PostMapping("/bulk-price")
+    public ResponseEntity<BulkOperationResultDTO> adjustPrices(@Valid @RequestBody BulkPriceUpdateDTO priceUpdateDTO) {
+        return ResponseEntity.ok(productBulkService.adjustPrices(priceUpdateDTO));
+    }
+
+    /**
+     * Wraps a page into a 200 response carrying the page's ETag.
+     * Spring answers a matching If-None-Match header with 304 Not Modified before the body is serialized.
+     */
+    private static ResponseEntity<CursorPage<ProductDTO>> pageResponse(CursorPage<ProductDTO> page) {
+        return ResponseEntity.ok()
+                .eTag(ETags.ofPage("product", page, ProductDTO::getId, ProductDTO::getVersion))
+                .body(page);
+    }
+
 }
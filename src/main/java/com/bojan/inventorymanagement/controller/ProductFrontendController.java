@@ -1,6 +1,10 @@
 package com.bojan.inventorymanagement.controller;
 
+import com.bojan.inventorymanagement.config.CacheConfig;
+import com.bojan.inventorymanagement.config.ReadYourWrites;
 import com.bojan.inventorymanagement.dto.ProductDTO;
+import com.bojan.inventorymanagement.dto.ProductExportDTO;
+import com.bojan.inventorymanagement.dto.ProductFilterDTO;
 import com.bojan.inventorymanagement.exception.ResourceNotFoundException;
 import com.bojan.inventorymanagement.mapper.ProductMapper;
 import com.bojan.inventorymanagement.model.Category;
@@ -9,10 +13,42 @@ import com.bojan.inventorymanagement.model.Supplier;
 import com.bojan.inventorymanagement.service.CategoryService;
 import com.bojan.inventorymanagement.service.ProductService;
 import com.bojan.inventorymanagement.service.SupplierService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 
 /**
  * Controller for handling frontend operations related to products.
@@ -23,21 +59,217 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class ProductFrontendController {
 
+    private static final int SEARCH_RESULT_LIMIT = 100;
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final List<Integer> PAGE_SIZES = List.of(20, DEFAULT_PAGE_SIZE, 100, MAX_PAGE_SIZE);
+    // Columns the list page can be sorted by; category and supplier sort by name
+    private static final List<String> SORT_COLUMNS = List.of("name", "price", "quantity", "category", "supplier");
+    private static final int EXPORT_PAGE_SIZE = 1000;
+    private static final int XLSX_ROW_WINDOW = 100;   // Rows kept in memory by the streaming XLSX writer
+    private static final MediaType XLSX = MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+
+    // Same column names as the CSV import, so a downloaded file can be edited and imported again
+    private static final String[] EXPORT_HEADER =
+            {"id", "name", "description", "price", "quantity", "unit", "reorderThreshold", "category", "supplier"};
+
     // Injected services for handling business logic
     private final ProductService productService;
     private final CategoryService categoryService;
     private final SupplierService supplierService;
+    private final CacheManager cacheManager;
+    private final SpringTemplateEngine templateEngine;
 
     /**
-     * Display all products.
-     * Adds the list of products to the model and returns the view for listing.
+     * Display one page of products, or the best matches when a search text is given.
+     * The page is filtered with the criteria of the product API and sorted on the server. Its
+     * product table is rendered once per data version and page and then served from the cache
+     * until a product, category or supplier changes, so repeated views run no SQL. A cached table is
+     * always rendered from the primary database: the data version only tracks the writes, and a
+     * replica that has not caught up with them would put the old rows under the new version.
      */
     @GetMapping
-    public String getAllProducts(Model model) {
-        model.addAttribute("products", productService.getAllProducts());
+    public String getAllProducts(@RequestParam(required = false) String q, ProductFilterDTO filter,
+                                 @RequestParam(defaultValue = "0") int page,
+                                 @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size,
+                                 @RequestParam(defaultValue = "name") String sort,
+                                 @RequestParam(defaultValue = "asc") String dir,
+                                 HttpServletRequest request, Model model) {
+        // Normalize the parameters, so equal pages share one cache entry
+        String sortColumn = SORT_COLUMNS.contains(sort) ? sort : "name";
+        Sort.Direction direction = "desc".equalsIgnoreCase(dir) ? Sort.Direction.DESC : Sort.Direction.ASC;
+        ListQuery query = new ListQuery(request.getContextPath() + "/products", filter, Math.max(page, 0),
+                Math.min(Math.max(size, 1), MAX_PAGE_SIZE), sortColumn, direction);
+
+        String table;
+        if (q != null && !q.isBlank()) {
+            List<ProductExportDTO> rows = productService.searchProductsWithReferences(q, SEARCH_RESULT_LIMIT).stream()
+                    .map(ProductMapper::toExportDTO)
+                    .toList();
+            table = renderTable(new PageImpl<>(rows), null, request.getContextPath());
+            model.addAttribute("csvUrl", downloadUrl(request, "csv", q));
+            model.addAttribute("xlsxUrl", downloadUrl(request, "xlsx", q));
+        } else {
+            table = productService.getProductListVersion()
+                    .map(version -> productListPages().get(version + " " + query.url(query.page()),
+                            () -> ReadYourWrites.readFromPrimary(() -> renderTable(query, request.getContextPath()))))
+                    .orElseGet(() -> renderTable(query, request.getContextPath()));
+            model.addAttribute("csvUrl", query.filterUri(request.getContextPath() + "/products/export.csv").build().encode().toUriString());
+            model.addAttribute("xlsxUrl", query.filterUri(request.getContextPath() + "/products/export.xlsx").build().encode().toUriString());
+        }
+        model.addAttribute("table", table);
+        model.addAttribute("q", q);
+        model.addAttribute("filter", filter);
+        model.addAttribute("size", query.size());
+        model.addAttribute("sort", sortColumn);
+        model.addAttribute("dir", direction.name().toLowerCase(Locale.ROOT));
+        model.addAttribute("pageSizes", PAGE_SIZES);
+        model.addAttribute("categories", categoryService.getAllCategories());
+        model.addAttribute("suppliers", supplierService.getAllSuppliers());
         return "product/list";  // Returns product/list.html
     }
 
+    private static String downloadUrl(HttpServletRequest request, String format, String q) {
+        return UriComponentsBuilder.fromPath(request.getContextPath() + "/products/export." + format)
+                .queryParam("q", q)
+                .build()
+                .encode()
+                .toUriString();
+    }
+
+    private Cache productListPages() {
+        return Objects.requireNonNull(cacheManager.getCache(CacheConfig.PRODUCT_LIST_PAGES));
+    }
+
+    /**
+     * Loads one page of the product list and renders its product table.
+     */
+    private String renderTable(ListQuery query, String contextPath) {
+        Page<ProductExportDTO> rows = productService.getProductListPage(query.filter(),
+                PageRequest.of(query.page(), query.size(), Sort.by(query.direction(), query.sort())));
+        return renderTable(rows, query, contextPath);
+    }
+
+    /**
+     * Renders the product table fragment of the list page to a string.
+     * A null query renders the table without sort and page links.
+     */
+    private String renderTable(Page<ProductExportDTO> rows, ListQuery query, String contextPath) {
+        Context context = new Context(Locale.ROOT);
+        context.setVariable("page", rows);
+        context.setVariable("contextPath", contextPath);
+        if (query != null) {
+            Map<String, String> sortUrls = new HashMap<>();
+            for (String column : SORT_COLUMNS) {
+                // The current column toggles its direction, any other starts ascending
+                boolean descending = column.equals(query.sort()) && query.direction().isAscending();
+                sortUrls.put(column, query.sortedBy(column, descending ? Sort.Direction.DESC : Sort.Direction.ASC).url(0));
+            }
+            context.setVariable("sort", query.sort());
+            context.setVariable("dir", query.direction().name().toLowerCase(Locale.ROOT));
+            context.setVariable("sortUrls", sortUrls);
+            context.setVariable("firstUrl", query.url(0));
+            context.setVariable("previousUrl", query.url(rows.getNumber() - 1));
+            context.setVariable("nextUrl", query.url(rows.getNumber() + 1));
+            context.setVariable("lastUrl", query.url(Math.max(rows.getTotalPages() - 1, 0)));
+        }
+        return templateEngine.process("product/list-table", context);
+    }
+
+    /**
+     * Download the product list as CSV.
+     * Takes the search text of the list page, or the filter criteria of the product API; rows are
+     * fetched and written one keyset page at a time, so the download starts right away and neither
+     * the heap nor a database connection is held in proportion to the catalog size.
+     */
+    @GetMapping("/export.csv")
+    public ResponseEntity<StreamingResponseBody> exportCsv(@RequestParam(required = false) String q, ProductFilterDTO filter) {
+        StreamingResponseBody body = outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            writer.write('\uFEFF');    // Byte order mark, so spreadsheet applications detect UTF-8
+            CSVPrinter printer = new CSVPrinter(writer, CSVFormat.DEFAULT.builder().setHeader(EXPORT_HEADER).build());
+            exportRows(q, filter, rows -> {
+                for (ProductExportDTO row : rows) {
+                    printer.printRecord(row.getId(), row.getName(), row.getDescription(), row.getPrice(), row.getQuantity(),
+                            row.getUnit(), row.getReorderThreshold(), row.getCategoryName(), row.getSupplierName());
+                }
+                printer.flush();
+            });
+            printer.flush();
+        };
+        return download(body, new MediaType("text", "csv", StandardCharsets.UTF_8), "products.csv");
+    }
+
+    /**
+     * Download the product list as an Excel workbook.
+     * Accepts the same criteria as the CSV download. The workbook is written with the streaming
+     * SXSSF writer, which keeps only a small window of rows in memory and spools the rest to a
+     * temporary file; the response headers are sent right away, the content once all rows are read.
+     */
+    @GetMapping("/export.xlsx")
+    public ResponseEntity<StreamingResponseBody> exportXlsx(@RequestParam(required = false) String q, ProductFilterDTO filter) {
+        StreamingResponseBody body = outputStream -> {
+            outputStream.flush();   // Commit the headers, so the browser starts the download
+            // close() also deletes the temporary file
+            try (SXSSFWorkbook workbook = new SXSSFWorkbook(XLSX_ROW_WINDOW)) {
+                workbook.setCompressTempFiles(true);
+                SXSSFSheet sheet = workbook.createSheet("Products");
+                Row header = sheet.createRow(0);
+                for (int i = 0; i < EXPORT_HEADER.length; i++) {
+                    header.createCell(i).setCellValue(EXPORT_HEADER[i]);
+                }
+                int[] rowNum = {1};
+                exportRows(q, filter, rows -> {
+                    for (ProductExportDTO row : rows) {
+                        Row sheetRow = sheet.createRow(rowNum[0]++);
+                        sheetRow.createCell(0).setCellValue(row.getId());
+                        sheetRow.createCell(1).setCellValue(row.getName());
+                        sheetRow.createCell(2).setCellValue(row.getDescription());
+                        sheetRow.createCell(3).setCellValue(row.getPrice().doubleValue());
+                        sheetRow.createCell(4).setCellValue(row.getQuantity());
+                        sheetRow.createCell(5).setCellValue(row.getUnit());
+                        if (row.getReorderThreshold() != null) {
+                            sheetRow.createCell(6).setCellValue(row.getReorderThreshold());
+                        }
+                        sheetRow.createCell(7).setCellValue(row.getCategoryName());
+                        sheetRow.createCell(8).setCellValue(row.getSupplierName());
+                    }
+                });
+                workbook.write(outputStream);
+            }
+        };
+        return download(body, XLSX, "products.xlsx");
+    }
+
+    /**
+     * Passes the rows of a download to the writer, one page at a time.
+     * A search text selects the same best matches as the list page; otherwise the filter is applied.
+     */
+    private void exportRows(String q, ProductFilterDTO filter, PageWriter writer) throws IOException {
+        if (q != null && !q.isBlank()) {
+            writer.write(productService.searchProductsWithReferences(q, SEARCH_RESULT_LIMIT).stream()
+                    .map(ProductMapper::toExportDTO)
+                    .toList());
+            return;
+        }
+        long afterId = 0;
+        List<ProductExportDTO> rows;
+        do {
+            rows = productService.getExportRowsAfterId(filter, afterId, EXPORT_PAGE_SIZE);
+            if (!rows.isEmpty()) {
+                writer.write(rows);
+                afterId = rows.get(rows.size() - 1).getId();
+            }
+        } while (rows.size() == EXPORT_PAGE_SIZE);
+    }
+
+    private static ResponseEntity<StreamingResponseBody> download(StreamingResponseBody body, MediaType contentType, String fileName) {
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(body);
+    }
+
     /**
      * Show form for creating a new product.
      * Prepares an empty ProductDTO and lists of categories and suppliers.
@@ -73,7 +305,7 @@ public class ProductFrontendController {
      */
     @GetMapping("/{id}")
     public String getProduct(@PathVariable Long id, Model model) {
-        Product product = productService.getProductById(id)
+        Product product = productService.getProductWithReferencesById(id)
                 .orElseThrow(() -> new RuntimeException("Product not found"));
         model.addAttribute("product", product);
         return "product/details";  // Returns product/details.html
@@ -95,6 +327,7 @@ public class ProductFrontendController {
     /**
      * Handle form submission for updating a product.
      * Converts DTO back to entity, resolves foreign keys, and performs update.
+     * The update is rejected if the product changed since the form was rendered.
      */
     @PostMapping("/edit/{id}")
     public String updateProduct(@PathVariable Long id, @ModelAttribute ProductDTO productDTO) {
@@ -102,7 +335,7 @@ public class ProductFrontendController {
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found"));
         Supplier supplier = supplierService.getSupplierById(productDTO.getSupplierId())
                 .orElseThrow(() -> new ResourceNotFoundException("Supplier not found"));
-        productService.updateProduct(id, ProductMapper.toEntity(productDTO, category, supplier));
+        productService.updateProduct(id, ProductMapper.toEntity(productDTO, category, supplier), productDTO.getVersion());
         return "redirect:/products";  // Redirect to product list
     }
 
@@ -115,4 +348,53 @@ public class ProductFrontendController {
         productService.deleteProduct(id);
         return "redirect:/products";  // Redirect to product list
     }
+
+    /**
+     * The normalized parameters of a product list page, which build its links and cache key.
+     */
+    private record ListQuery(String path, ProductFilterDTO filter, int page, int size, String sort, Sort.Direction direction) {
+
+        ListQuery sortedBy(String column, Sort.Direction newDirection) {
+            return new ListQuery(path, filter, 0, size, column, newDirection);
+        }
+
+        /**
+         * Builds the URL of a page of this list, with the parameters always in the same order.
+         */
+        String url(int pageNumber) {
+            return filterUri(path)
+                    .queryParam("sort", sort)
+                    .queryParam("dir", direction.name().toLowerCase(Locale.ROOT))
+                    .queryParam("size", size)
+                    .queryParam("page", pageNumber)
+                    .build()
+                    .encode()
+                    .toUriString();
+        }
+
+        /**
+         * Builds a URL with the filter criteria of this list as query parameters.
+         */
+        UriComponentsBuilder filterUri(String target) {
+            return UriComponentsBuilder.fromPath(target)
+                    .queryParamIfPresent("categoryId", Optional.ofNullable(filter.getCategoryId()))
+                    .queryParamIfPresent("supplierId", Optional.ofNullable(filter.getSupplierId()))
+                    .queryParamIfPresent("minPrice", Optional.ofNullable(filter.getMinPrice()))
+                    .queryParamIfPresent("maxPrice", Optional.ofNullable(filter.getMaxPrice()))
+                    .queryParamIfPresent("quantityBelow", Optional.ofNullable(filter.getQuantityBelow()))
+                    .queryParamIfPresent("unit", Optional.ofNullable(filter.getUnit()).filter(unit -> !unit.isBlank()));
+        }
+
+    }
+
+    /**
+     * Writes one page of download rows to the response.
+     */
+    @FunctionalInterface
+    private interface PageWriter {
+
+        void write(List<ProductExportDTO> rows) throws IOException;
+
+    }
+
 }
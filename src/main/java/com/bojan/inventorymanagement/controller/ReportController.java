@@ -0,0 +1,33 @@
+package com.bojan.inventorymanagement.controller;
+
+import com.bojan.inventorymanagement.dto.ValuationReportDTO;
+import com.bojan.inventorymanagement.service.InventoryValuationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST Controller for inventory reports.
+ */
+@RestController
+@RequestMapping("/api/reports")
+@RequiredArgsConstructor
+public class ReportController {
+
+    // Injected service for handling business logic
+    private final InventoryValuationService valuationService;
+
+    /**
+     * Endpoint to fetch the stock value (price * quantity) overall, by category and by supplier.
+     * Served from incrementally maintained aggregates, so the cost does not grow with the number of products.
+     *
+     * @return the valuation report
+     */
+    @GetMapping("/valuation")
+    public ResponseEntity<ValuationReportDTO> getValuationReport() {
+        return ResponseEntity.ok(valuationService.getValuationReport());
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.bojan.inventorymanagement.controller;
+
+import com.bojan.inventorymanagement.dto.CursorPage;
+import com.bojan.inventorymanagement.dto.StockAlertDTO;
+import com.bojan.inventorymanagement.service.StockAlertService;
+import com.bojan.inventorymanagement.util.CursorCodec;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * REST Controller for low-stock alerts.
+ * Lists the products whose quantity is below their reorder threshold.
+ */
+@RestController
+@RequestMapping("/api/alerts")
+@RequiredArgsConstructor
+public class StockAlertController {
+
+    // Injected service for handling business logic
+    private final StockAlertService stockAlertService;
+
+    /**
+     * Endpoint to fetch the active alerts one keyset page at a time, ordered by product ID.
+     * The next page is requested by passing the returned cursor as the {@code after} parameter.
+     *
+     * @param after the opaque cursor of the previous page, omitted for the first page
+     * @param limit the maximum number of alerts to return
+     * @return a page of alerts together with the cursor for the next page
+     */
+    @GetMapping
+    public ResponseEntity<CursorPage<StockAlertDTO>> getActiveAlerts(@RequestParam(required = false) String after,
+                                                                     @RequestParam(required = false) Integer limit) {
+        int pageSize = CursorPage.normalizeLimit(limit);
+        List<StockAlertDTO> rows = stockAlertService.getActiveAlertsAfterProductId(CursorCodec.decodeId(after), pageSize + 1);
+        return ResponseEntity.ok(CursorPage.of(rows, pageSize, Function.identity(),
+                alert -> CursorCodec.encode(alert.getProductId())));
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.bojan.inventorymanagement.controller;
+
+import com.bojan.inventorymanagement.dto.CursorPage;
+import com.bojan.inventorymanagement.dto.StockLevelDTO;
+import com.bojan.inventorymanagement.dto.StockMovementDTO;
+import com.bojan.inventorymanagement.exception.BadRequestException;
+import com.bojan.inventorymanagement.service.StockLedgerService;
+import com.bojan.inventorymanagement.util.CursorCodec;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * REST Controller for the stock ledger of a product.
+ * Provides the movement history and the quantity on hand at any point in time.
+ * The history is kept after a product is deleted.
+ */
+@RestController
+@RequestMapping("/api/product/{id}")
+@RequiredArgsConstructor
+public class StockLedgerController {
+
+    // Injected service for handling business logic
+    private final StockLedgerService ledgerService;
+
+    /**
+     * Endpoint to fetch a product's stock movements one keyset page at a time, newest first.
+     * The next page is requested by passing the returned cursor as the {@code after} parameter.
+     *
+     * @param id the ID of the product
+     * @param after the opaque cursor of the previous page, omitted for the first page
+     * @param limit the maximum number of movements to return
+     * @return a page of movements together with the cursor for the next page
+     */
+    @GetMapping("/movements")
+    public ResponseEntity<CursorPage<StockMovementDTO>> getMovements(@PathVariable Long id,
+                                                                     @RequestParam(required = false) String after,
+                                                                     @RequestParam(required = false) Integer limit) {
+        int pageSize = CursorPage.normalizeLimit(limit);
+        Instant beforeOccurredAt = null;
+        long beforeId = 0L;
+        if (after != null && !after.isBlank()) {
+            String[] keys = CursorCodec.decode(after, 2);
+            beforeOccurredAt = parseInstant(keys[0]);
+            beforeId = CursorCodec.parseId(keys[1]);
+        }
+        List<StockMovementDTO> rows = ledgerService.getMovements(id, beforeOccurredAt, beforeId, pageSize + 1);
+        return ResponseEntity.ok(CursorPage.of(rows, pageSize, Function.identity(),
+                movement -> CursorCodec.encode(movement.getOccurredAt(), movement.getId())));
+    }
+
+    /**
+     * Endpoint to fetch the quantity a product had on hand at a point in time.
+     *
+     * @param id the ID of the product
+     * @param asOf the point in time as an ISO-8601 instant, e.g. 2025-01-31T23:59:59Z; now if omitted
+     * @return the stock level at that time
+     */
+    @GetMapping("/stock")
+    public ResponseEntity<StockLevelDTO> getStockAsOf(@PathVariable Long id, @RequestParam(required = false) Instant asOf) {
+        int quantity = ledgerService.getQuantityAsOf(id, asOf != null ? asOf : Instant.now());
+        return ResponseEntity.ok(new StockLevelDTO(id, quantity));
+    }
+
+    private static Instant parseInstant(String value) {
+        try {
+            return Instant.parse(value);
+        } catch (DateTimeParseException ex) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+}
@@ -1,16 +1,31 @@
 package com.bojan.inventorymanagement.controller;
 
+import com.bojan.inventorymanagement.dto.BatchItemErrorDTO;
+import com.bojan.inventorymanagement.dto.BatchResultDTO;
+import com.bojan.inventorymanagement.dto.BulkDeleteDTO;
+import com.bojan.inventorymanagement.dto.BulkOperationResultDTO;
+import com.bojan.inventorymanagement.dto.CursorPage;
 import com.bojan.inventorymanagement.dto.SupplierDTO;
+import com.bojan.inventorymanagement.exception.BadRequestException;
 import com.bojan.inventorymanagement.exception.ResourceNotFoundException;
 import com.bojan.inventorymanagement.mapper.SupplierMapper;
 import com.bojan.inventorymanagement.model.Supplier;
 import com.bojan.inventorymanagement.service.SupplierService;
+import com.bojan.inventorymanagement.util.CursorCodec;
+import com.bojan.inventorymanagement.util.ETags;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -22,8 +37,9 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class SupplierController {
 
-    // Injected service for handling business logic
+    // Injected services for handling business logic
     private final SupplierService supplierService;
+    private final Validator validator;
 
     /**
      * Endpoint to create a new supplier.
@@ -45,40 +61,89 @@ public class SupplierController {
     }
 
     /**
-     * Endpoint to fetch all suppliers.
+     * Endpoint to create many suppliers in one call.
+     * Every item is validated on its own; valid items are inserted in JDBC batches, while
+     * invalid items are reported back with their position instead of failing the whole request.
      *
-     * @return a list of all suppliers as DTOs
+     * @param supplierDTOs the suppliers to be created
+     * @return the created suppliers and an error entry for every rejected item
      */
-    @GetMapping
-    public ResponseEntity<List<SupplierDTO>> getAllSuppliers() {
-        List<SupplierDTO> suppliers = supplierService.getAllSuppliers().stream()
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResultDTO<SupplierDTO>> createSuppliers(@RequestBody List<SupplierDTO> supplierDTOs) {
+        BatchResultDTO.checkSize(supplierDTOs.size());
+
+        List<Supplier> toSave = new ArrayList<>();
+        List<BatchItemErrorDTO> errors = new ArrayList<>();
+        for (int i = 0; i < supplierDTOs.size(); i++) {
+            SupplierDTO supplierDTO = supplierDTOs.get(i);
+            Set<ConstraintViolation<SupplierDTO>> violations = validator.validate(supplierDTO);
+            if (!violations.isEmpty()) {
+                errors.add(BatchItemErrorDTO.fromViolations(i, violations));
+                continue;
+            }
+            toSave.add(SupplierMapper.toEntity(supplierDTO));
+        }
+
+        List<SupplierDTO> created = supplierService.saveSuppliers(toSave).stream()
                 .map(SupplierMapper::toDto)
                 .collect(Collectors.toList());
-        return ResponseEntity.ok(suppliers);
+        return ResponseEntity.ok(new BatchResultDTO<>(created, errors));
+    }
+
+    /**
+     * Endpoint to fetch suppliers one keyset page at a time, ordered by ID.
+     * The next page is requested by passing the returned cursor as the {@code after} parameter.
+     *
+     * @param after the opaque cursor of the previous page, omitted for the first page
+     * @param limit the maximum number of suppliers to return
+     * @return a page of suppliers as DTOs together with the cursor for the next page
+     */
+    @GetMapping
+    public ResponseEntity<CursorPage<SupplierDTO>> getAllSuppliers(@RequestParam(required = false) String after,
+                                                                   @RequestParam(required = false) Integer limit) {
+        int pageSize = CursorPage.normalizeLimit(limit);
+        List<SupplierDTO> rows = supplierService.getSuppliersAfterId(CursorCodec.decodeId(after), pageSize + 1);
+        return pageResponse(CursorPage.of(rows, pageSize, Function.identity(),
+                supplier -> CursorCodec.encode(supplier.getId())));
     }
 
     /**
      * Endpoint to fetch a single supplier by its ID.
+     * Supports conditional requests: the response carries the supplier's ETag and
+     * a matching If-None-Match header is answered with 304 Not Modified.
      *
      * @param id the ID of the supplier
-     * @return the corresponding supplier DTO
+     * @param request the current request, used to evaluate If-None-Match
+     * @return the corresponding supplier DTO, or an empty 304 response if it did not change
      */
     @GetMapping("/{id}")
-    public ResponseEntity<SupplierDTO> getSupplierById(@PathVariable Long id) {
-        Supplier supplier = supplierService.getSupplierById(id)
+    public ResponseEntity<SupplierDTO> getSupplierById(@PathVariable Long id, WebRequest request) {
+        long version = supplierService.getSupplierVersion(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Supplier not found"));
+        // An unchanged supplier is answered with 304 Not Modified from its version alone, without loading the row.
+        // Otherwise the ETag header has already been set on the response.
+        if (request.checkNotModified(ETags.ofRow("supplier", id, version))) {
+            return null;
+        }
+        SupplierDTO supplier = supplierService.getSupplierDtoById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Supplier not found"));
-        return ResponseEntity.ok(SupplierMapper.toDto(supplier));
+        return ResponseEntity.ok(supplier);
     }
 
     /**
      * Endpoint to update an existing supplier.
+     * When an If-Match header is sent, the update is only applied if the supplier still has that ETag.
      *
      * @param id the ID of the supplier to update
      * @param supplierDTO the updated supplier data
-     * @return the updated supplier as a DTO
+     * @param ifMatch the ETag the client based its changes on, optional
+     * @return the updated supplier as a DTO, or HTTP 409 Conflict if the supplier was modified in the meantime
      */
     @PutMapping("/{id}")
-    public ResponseEntity<SupplierDTO> updateSupplier(@PathVariable Long id, @Valid @RequestBody SupplierDTO supplierDTO) {
+    public ResponseEntity<SupplierDTO> updateSupplier(@PathVariable Long id, @Valid @RequestBody SupplierDTO supplierDTO,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = ETags.parseVersion(ifMatch, "supplier", id);
+
         Supplier updatedData = new Supplier();
         updatedData.setName(supplierDTO.getName());
         updatedData.setContactName(supplierDTO.getContactName());
@@ -86,8 +151,10 @@ public class SupplierController {
         updatedData.setPhone(supplierDTO.getPhone());
         updatedData.setAddress(supplierDTO.getAddress());
 
-        Supplier updated = supplierService.updateSupplier(id, updatedData);
-        return ResponseEntity.ok(SupplierMapper.toDto(updated));
+        Supplier updated = supplierService.updateSupplier(id, updatedData, expectedVersion);
+        return ResponseEntity.ok()
+                .eTag(ETags.ofRow("supplier", id, updated.getVersion()))
+                .body(SupplierMapper.toDto(updated));
     }
 
     /**
@@ -102,4 +169,28 @@ public class SupplierController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Endpoint to delete many suppliers by their IDs with a single DELETE statement.
+     *
+     * @param bulkDeleteDTO the IDs, and whether to only count the suppliers
+     * @return the number of suppliers deleted, or that would be deleted by a dry run
+     */
+    @PostMapping("/bulk-delete")
+    public ResponseEntity<BulkOperationResultDTO> deleteSuppliers(@Valid @RequestBody BulkDeleteDTO bulkDeleteDTO) {
+        if (bulkDeleteDTO.getIds() == null || bulkDeleteDTO.getIds().isEmpty() || bulkDeleteDTO.getFilter() != null) {
+            throw new BadRequestException("Suppliers can only be deleted by a list of ids");
+        }
+        return ResponseEntity.ok(supplierService.deleteSuppliers(bulkDeleteDTO.getIds(), bulkDeleteDTO.isDryRun()));
+    }
+
+    /**
+     * Wraps a page into a 200 response carrying the page's ETag.
+     * Spring answers a matching If-None-Match header with 304 Not Modified before the body is serialized.
+     */
+    private static ResponseEntity<CursorPage<SupplierDTO>> pageResponse(CursorPage<SupplierDTO> page) {
+        return ResponseEntity.ok()
+                .eTag(ETags.ofPage("supplier", page, SupplierDTO::getId, SupplierDTO::getVersion))
+                .body(page);
+    }
+
 }
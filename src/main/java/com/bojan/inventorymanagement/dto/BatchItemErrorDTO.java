@@ -0,0 +1,38 @@
+package com.bojan.inventorymanagement.dto;
+
+import jakarta.validation.ConstraintViolation;
+import lombok.*;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Data Transfer Object describing why a single item of a batch request was rejected.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchItemErrorDTO {
+
+    /** Zero-based position of the rejected item in the request */
+    private int index;
+
+    private String message;
+
+    /**
+     * Builds an error entry from the Bean Validation violations of a batch item.
+     *
+     * @param index position of the item in the request
+     * @param violations the constraint violations reported for the item
+     * @return the error entry listing every violated field
+     */
+    public static BatchItemErrorDTO fromViolations(int index, Set<? extends ConstraintViolation<?>> violations) {
+        String message = violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+        return new BatchItemErrorDTO(index, message);
+    }
+
+}
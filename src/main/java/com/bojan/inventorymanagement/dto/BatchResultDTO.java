@@ -0,0 +1,41 @@
+package com.bojan.inventorymanagement.dto;
+
+import com.bojan.inventorymanagement.exception.BadRequestException;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Result of a batch request.
+ * Holds the items that were processed successfully, in request order,
+ * and an error entry for every item that was rejected.
+ *
+ * @param <T> the type of the processed items
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResultDTO<T> {
+
+    /** Upper bound for the number of items accepted in a single batch request */
+    public static final int MAX_ITEMS = 1000;
+
+    private List<T> items;
+
+    private List<BatchItemErrorDTO> errors;
+
+    /**
+     * Rejects batch requests that are empty or larger than {@link #MAX_ITEMS}.
+     *
+     * @param size the number of items in the request
+     * @throws BadRequestException if the size is out of range
+     */
+    public static void checkSize(int size) {
+        if (size == 0 || size > MAX_ITEMS) {
+            throw new BadRequestException("A batch must contain between 1 and " + MAX_ITEMS + " items");
+        }
+    }
+
+}
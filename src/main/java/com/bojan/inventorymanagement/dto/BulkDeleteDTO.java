@@ -0,0 +1,35 @@
+package com.bojan.inventorymanagement.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for a bulk delete request.
+ * Selects the rows either by a list of IDs or, for products, by a filter; exactly one of the two must be given.
+ * A dry run only counts the rows that would be deleted.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkDeleteDTO {
+
+    /** Upper bound for the number of IDs accepted in a single request */
+    public static final int MAX_IDS = 10_000;
+
+    @Size(max = MAX_IDS)
+    private List<Long> ids;
+
+    private ProductFilterDTO filter;    // Only supported for products; an empty filter is rejected
+
+    private boolean dryRun;
+
+    @Min(1)
+    @Max(BulkOperationResultDTO.MAX_CHUNK_SIZE)
+    private Integer chunkSize;          // Rows per statement and transaction, inventory.bulk.chunk-size if omitted
+
+}
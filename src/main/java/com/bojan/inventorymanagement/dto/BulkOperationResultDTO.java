@@ -0,0 +1,24 @@
+package com.bojan.inventorymanagement.dto;
+
+import lombok.*;
+
+/**
+ * Result of a bulk delete or bulk update.
+ * For a dry run {@code affected} is the number of rows the operation would change and nothing is written.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkOperationResultDTO {
+
+    /** Upper bound for the number of rows changed by one statement, i.e. held locked by one transaction */
+    public static final int MAX_CHUNK_SIZE = 10_000;
+
+    private boolean dryRun;
+
+    private long affected;
+
+    private int chunks;     // Statements (and transactions) the rows were changed in, 0 for a dry run
+
+}
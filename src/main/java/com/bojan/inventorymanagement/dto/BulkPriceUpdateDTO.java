@@ -0,0 +1,48 @@
+package com.bojan.inventorymanagement.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Data Transfer Object for changing the prices of all products of a category and/or supplier by a percentage.
+ * New prices are rounded to {@code scale} decimal places with the given rounding mode and never drop
+ * below 0.01. A dry run only counts the products that would be repriced.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkPriceUpdateDTO {
+
+    private Long categoryId;
+
+    private Long supplierId;
+
+    @NotNull
+    @DecimalMin(value = "-100", inclusive = false)
+    @DecimalMax("1000")
+    private BigDecimal percent;     // e.g. 5 for a 5 % increase, -10 for a 10 % discount
+
+    @Min(0)
+    @Max(2)
+    @Builder.Default
+    private int scale = 2;          // Decimal places of the new prices; the price column holds two
+
+    @NotNull
+    @Builder.Default
+    private RoundingMode roundingMode = RoundingMode.HALF_UP;  // HALF_EVEN and UNNECESSARY are not supported
+
+    private boolean dryRun;
+
+    @Min(1)
+    @Max(BulkOperationResultDTO.MAX_CHUNK_SIZE)
+    private Integer chunkSize;      // Products per statement and transaction, inventory.bulk.chunk-size if omitted
+
+}
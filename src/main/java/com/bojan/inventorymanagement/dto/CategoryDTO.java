@@ -1,5 +1,6 @@
 package com.bojan.inventorymanagement.dto;
 
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import lombok.*;
 
@@ -13,9 +14,16 @@ import lombok.*;
 @Builder
 public class CategoryDTO {
 
+    private Long id;
+
     @NotBlank
     private String name;
 
     private String description;
 
+    @Min(0)
+    private Integer reorderThreshold;   // Default for products without their own threshold
+
+    private long version;   // Row revision, ignored on create
+
 }
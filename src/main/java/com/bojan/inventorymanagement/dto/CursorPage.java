@@ -0,0 +1,66 @@
+package com.bojan.inventorymanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * A single page of a keyset (cursor) paginated listing.
+ * Holds the items of the page and an opaque cursor pointing to the next page,
+ * which is null when the last page has been reached.
+ *
+ * @param <T> the type of the items in the page
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    /** Number of items returned when the client does not ask for a specific limit */
+    public static final int DEFAULT_LIMIT = 50;
+
+    /** Upper bound for the page size, so a single request can never load an unbounded result */
+    public static final int MAX_LIMIT = 500;
+
+    private List<T> items;
+
+    private String nextCursor;
+
+    /**
+     * Builds a page from rows fetched with a limit of {@code limit + 1}.
+     * The extra row is only used to detect whether another page exists and is not returned.
+     *
+     * @param rows the fetched rows, at most {@code limit + 1}
+     * @param limit the requested page size
+     * @param mapper converts a row into the item returned to the client
+     * @param cursorOf builds the opaque cursor for a row
+     * @return the page containing at most {@code limit} items
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows, int limit, Function<E, T> mapper, Function<E, String> cursorOf) {
+        boolean hasNext = rows.size() > limit;
+        List<E> pageRows = hasNext ? rows.subList(0, limit) : rows;
+        List<T> items = pageRows.stream()
+                .map(mapper)
+                .collect(Collectors.toList());
+        String nextCursor = hasNext ? cursorOf.apply(pageRows.get(pageRows.size() - 1)) : null;
+        return new CursorPage<>(items, nextCursor);
+    }
+
+    /**
+     * Clamps a client supplied page size into the range {@code 1..MAX_LIMIT}.
+     *
+     * @param limit the requested page size, may be null
+     * @return the page size to use
+     */
+    public static int normalizeLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.bojan.inventorymanagement.dto;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Progress of a CSV product import.
+ * A report is emitted after every staged chunk and once more when the import finishes.
+ * Counters are cumulative; {@code errors} only holds the rows rejected since the previous report,
+ * where the error's index is the row's line number in the file (the header is line 1).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class ImportProgressDTO {
+
+    /** Upper bound for the number of row errors reported over a whole import; further rows are only counted */
+    public static final int MAX_ERRORS = 1000;
+
+    public enum Status { RUNNING, DONE, FAILED }
+
+    private String importId;
+
+    private Status status;
+
+    private long rowsRead;
+
+    private long rowsStaged;
+
+    private long rowsRejected;
+
+    private long inserted;
+
+    private long updated;
+
+    private String message;
+
+    @Builder.Default
+    private List<BatchItemErrorDTO> errors = new ArrayList<>();
+
+}
@@ -38,10 +38,33 @@ public class ProductDTO {
 
     private boolean active; // Indicates if the product is active in inventory
 
+    @Min(0)
+    private Integer reorderThreshold;   // Null falls back to the category's threshold
+
     @NotNull
     private Long categoryId;
 
     @NotNull
     private Long supplierId;
 
+    private long version;   // Row revision, ignored on create
+
+    /**
+     * Constructor used by JPQL projection queries, which select the persisted columns
+     * straight into the DTO without creating managed Product entities.
+     */
+    public ProductDTO(Long id, String name, String description, BigDecimal price, int quantity,
+                      String unit, Integer reorderThreshold, Long categoryId, Long supplierId, long version) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.price = price;
+        this.quantity = quantity;
+        this.unit = unit;
+        this.reorderThreshold = reorderThreshold;
+        this.categoryId = categoryId;
+        this.supplierId = supplierId;
+        this.version = version;
+    }
+
 }
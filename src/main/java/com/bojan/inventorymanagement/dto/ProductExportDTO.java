@@ -0,0 +1,35 @@
+package com.bojan.inventorymanagement.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Data Transfer Object for one row of the product list page or of a product list download (CSV or XLSX).
+ * Carries the category and supplier names instead of their IDs, as shown on the product list page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductExportDTO {
+
+    private Long id;
+
+    private String name;
+
+    private String description;
+
+    private BigDecimal price;
+
+    private int quantity;
+
+    private String unit;
+
+    private Integer reorderThreshold;
+
+    private String categoryName;
+
+    private String supplierName;
+
+}
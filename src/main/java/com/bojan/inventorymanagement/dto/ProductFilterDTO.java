@@ -0,0 +1,39 @@
+package com.bojan.inventorymanagement.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Data Transfer Object holding the optional criteria for filtering the product list.
+ * Criteria that are left empty are not applied; all others must match.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductFilterDTO {
+
+    private Long categoryId;
+
+    private Long supplierId;
+
+    private BigDecimal minPrice;    // Inclusive lower bound of the price
+
+    private BigDecimal maxPrice;    // Inclusive upper bound of the price
+
+    private Integer quantityBelow;  // Only products with fewer units in stock
+
+    private String unit;
+
+    /**
+     * Tells whether no criteria are set, i.e. the filter matches every product.
+     *
+     * @return true if no criteria are set
+     */
+    public boolean isEmpty() {
+        return categoryId == null && supplierId == null && minPrice == null && maxPrice == null
+                && quantityBelow == null && (unit == null || unit.isBlank());
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.bojan.inventorymanagement.dto;
+
+import com.bojan.inventorymanagement.model.MovementType;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+/**
+ * Data Transfer Object for a relative change of a product's stock level.
+ * A positive delta adds stock (e.g. a receipt), a negative one removes it (e.g. a pick).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockAdjustmentDTO {
+
+    private Long productId;     // Only required by the bulk endpoint, taken from the path otherwise
+
+    @NotNull
+    private Integer delta;
+
+    private MovementType type;  // Recorded in the stock ledger; derived from the sign of the delta if omitted
+
+    @Size(max = 255)
+    private String reason;      // Recorded in the stock ledger, e.g. an order or delivery number
+
+}
@@ -0,0 +1,27 @@
+package com.bojan.inventorymanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Data Transfer Object for an active low-stock alert.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockAlertDTO {
+
+    private Long productId;
+
+    private String productName;
+
+    private int quantity;
+
+    private int threshold;
+
+    private Instant triggeredAt;
+
+}
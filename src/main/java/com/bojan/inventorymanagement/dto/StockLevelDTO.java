@@ -0,0 +1,18 @@
+package com.bojan.inventorymanagement.dto;
+
+import lombok.*;
+
+/**
+ * Data Transfer Object for the stock level of a product after an adjustment.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockLevelDTO {
+
+    private Long productId;
+
+    private int quantity;
+
+}
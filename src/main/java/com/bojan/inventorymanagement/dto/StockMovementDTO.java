@@ -0,0 +1,30 @@
+package com.bojan.inventorymanagement.dto;
+
+import com.bojan.inventorymanagement.model.MovementType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Data Transfer Object for an entry of the stock ledger.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockMovementDTO {
+
+    private Long id;
+
+    private Long productId;
+
+    private MovementType type;
+
+    private int quantityChange;
+
+    private String reason;
+
+    private Instant occurredAt;
+
+}
@@ -14,6 +14,8 @@ import lombok.*;
 @Builder
 public class SupplierDTO {
 
+    private Long id;
+
     @NotBlank
     private String name;
 
@@ -26,4 +28,6 @@ public class SupplierDTO {
 
     private String address;
 
+    private long version;   // Row revision, ignored on create
+
 }
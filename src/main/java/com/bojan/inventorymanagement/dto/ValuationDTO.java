@@ -0,0 +1,27 @@
+package com.bojan.inventorymanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Data Transfer Object for the stock value of a category, a supplier or the whole inventory.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ValuationDTO {
+
+    private Long id;            // Category or supplier ID, null for the overall total
+
+    private String name;
+
+    private BigDecimal value;   // Sum of price * quantity
+
+    private long quantity;
+
+    private long productCount;
+
+}
@@ -0,0 +1,23 @@
+package com.bojan.inventorymanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for the inventory valuation report.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ValuationReportDTO {
+
+    private ValuationDTO total;
+
+    private List<ValuationDTO> byCategory;
+
+    private List<ValuationDTO> bySupplier;
+
+}
@@ -0,0 +1,18 @@
+package com.bojan.inventorymanagement.event;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Published by the product service whenever a write changes the stock value of products.
+ * Carries the deltas to apply to the valuation aggregates; listeners run synchronously
+ * inside the transaction of the write.
+ */
+@Value
+public class InventoryValueChangedEvent {
+
+    /** The changes caused by the write */
+    List<ValuationDelta> deltas;
+
+}
@@ -0,0 +1,15 @@
+package com.bojan.inventorymanagement.event;
+
+import lombok.Value;
+
+/**
+ * Published by the category service when the default reorder threshold of a category changes.
+ * Listeners run synchronously inside the transaction of the write.
+ */
+@Value
+public class ReorderThresholdChangedEvent {
+
+    /** ID of the category whose reorder threshold changed */
+    Long categoryId;
+
+}
@@ -0,0 +1,18 @@
+package com.bojan.inventorymanagement.event;
+
+import lombok.Value;
+
+import java.util.Collection;
+
+/**
+ * Published by the product service whenever the stock level or the reorder threshold
+ * of products may have changed, including when products are created or deleted.
+ * Listeners run synchronously inside the transaction of the write.
+ */
+@Value
+public class StockLevelChangedEvent {
+
+    /** IDs of the products whose stock may have changed */
+    Collection<Long> productIds;
+
+}
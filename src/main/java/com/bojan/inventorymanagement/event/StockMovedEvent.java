@@ -0,0 +1,18 @@
+package com.bojan.inventorymanagement.event;
+
+import com.bojan.inventorymanagement.model.StockMovement;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Published by the product service for every write that changes stock quantities.
+ * Carries the ledger entries to record; listeners run synchronously inside the transaction of the write.
+ */
+@Value
+public class StockMovedEvent {
+
+    /** The movements caused by the write, not yet persisted */
+    List<StockMovement> movements;
+
+}
@@ -0,0 +1,65 @@
+package com.bojan.inventorymanagement.event;
+
+import com.bojan.inventorymanagement.model.Product;
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+/**
+ * A change to the stock value of one category and one supplier,
+ * e.g. a product being created, repriced, restocked or deleted.
+ */
+@Value
+public class ValuationDelta {
+
+    /** Category the change is attributed to, null if the product has none */
+    Long categoryId;
+
+    /** Supplier the change is attributed to, null if the product has none */
+    Long supplierId;
+
+    /** Change of the stock value ({@code price * quantity}) */
+    BigDecimal value;
+
+    /** Change of the number of units in stock */
+    long quantity;
+
+    /** Change of the number of products, -1, 0 or 1 for a single product */
+    long productCount;
+
+    /**
+     * The contribution of a product to the valuation, used when it is added.
+     * Only the IDs of the category and supplier are read, so lazy references stay uninitialized.
+     *
+     * @param product the product
+     * @return the delta adding the product
+     */
+    public static ValuationDelta added(Product product) {
+        return new ValuationDelta(
+                product.getCategory() != null ? product.getCategory().getId() : null,
+                product.getSupplier() != null ? product.getSupplier().getId() : null,
+                product.getPrice().multiply(BigDecimal.valueOf(product.getQuantity())),
+                product.getQuantity(),
+                1);
+    }
+
+    /**
+     * The negated contribution of a product, used when it is removed or before it is changed.
+     *
+     * @param product the product
+     * @return the delta removing the product
+     */
+    public static ValuationDelta removed(Product product) {
+        return added(product).negated();
+    }
+
+    /**
+     * The opposite change, e.g. to take back the totals of products that are deleted or about to change.
+     *
+     * @return the negated delta
+     */
+    public ValuationDelta negated() {
+        return new ValuationDelta(categoryId, supplierId, value.negate(), -quantity, -productCount);
+    }
+
+}
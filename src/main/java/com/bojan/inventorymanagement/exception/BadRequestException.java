@@ -0,0 +1,18 @@
+package com.bojan.inventorymanagement.exception;
+
+/**
+ * Custom exception used when a request contains invalid parameters (e.g., a malformed pagination cursor).
+ * Extends RuntimeException so it can be thrown without being explicitly declared.
+ */
+public class BadRequestException extends RuntimeException {
+
+    /**
+     * Constructor with a custom error message.
+     *
+     * @param message the detail message explaining what is wrong with the request
+     */
+    public BadRequestException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.bojan.inventorymanagement.exception;
+
+/**
+ * Custom exception used when a stock adjustment would bring a product's quantity below zero.
+ * Extends RuntimeException so it can be thrown without being explicitly declared.
+ */
+public class InsufficientStockException extends RuntimeException {
+
+    /**
+     * Constructor with a custom error message.
+     *
+     * @param message the detail message explaining which product lacks stock
+     */
+    public InsufficientStockException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.bojan.inventorymanagement.job;
+
+import com.bojan.inventorymanagement.dto.ImportProgressDTO;
+import com.bojan.inventorymanagement.service.ProductImportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.ExitCodeGenerator;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Command line variant of the CSV product import.
+ * Started with {@code --inventory.import.file=<path>}; imports the file, logs the progress and
+ * exits with status 0 on success or 1 on failure.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty("inventory.import.file")
+@RequiredArgsConstructor
+public class ProductImportRunner implements ApplicationRunner {
+
+    private final ProductImportService productImportService;
+    private final ConfigurableApplicationContext context;
+
+    @Value("${inventory.import.file}")
+    private Path file;
+
+    /**
+     * Runs the import once the application has started.
+     *
+     * @param args the application arguments, not used
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        ExitCodeGenerator exitCode;
+        try (InputStream csv = Files.newInputStream(file)) {
+            productImportService.importProducts(csv, file.getFileName().toString(), this::log);
+            exitCode = () -> 0;
+        } catch (Exception ex) {
+            log.error("Import of {} failed", file, ex);
+            exitCode = () -> 1;
+        }
+        System.exit(SpringApplication.exit(context, exitCode));
+    }
+
+    private void log(ImportProgressDTO report) {
+        report.getErrors().forEach(error -> log.warn("Line {} rejected: {}", error.getIndex(), error.getMessage()));
+        log.info("Import {}: {} rows read, {} staged, {} rejected, {} inserted, {} updated",
+                report.getStatus(), report.getRowsRead(), report.getRowsStaged(), report.getRowsRejected(),
+                report.getInserted(), report.getUpdated());
+    }
+
+}
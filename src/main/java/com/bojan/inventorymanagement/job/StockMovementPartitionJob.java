@@ -0,0 +1,32 @@
+package com.bojan.inventorymanagement.job;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the monthly partitions of the stock ledger created ahead of time, so new movements
+ * never land in the default partition. Relies on the PL/pgSQL function defined in
+ * schema-postgresql.sql and is switched off with {@code inventory.ledger.partitioning.enabled=false}.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "inventory.ledger.partitioning.enabled", havingValue = "true")
+public class StockMovementPartitionJob {
+
+    /** Number of future months that always have a partition */
+    private static final int MONTHS_AHEAD = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Creates any missing partition for the current and the next months, once a day.
+     */
+    @Scheduled(cron = "0 30 1 * * *")
+    public void ensurePartitions() {
+        jdbcTemplate.execute("SELECT ensure_stock_movement_partitions(" + MONTHS_AHEAD + ")");
+    }
+
+}
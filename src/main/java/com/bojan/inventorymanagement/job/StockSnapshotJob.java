@@ -0,0 +1,29 @@
+package com.bojan.inventorymanagement.job;
+
+import com.bojan.inventorymanagement.service.StockLedgerService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically snapshots the stock ledger, which bounds the number of movements
+ * an as-of query has to sum.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StockSnapshotJob {
+
+    private final StockLedgerService ledgerService;
+
+    /**
+     * Takes the snapshots; the schedule is configured with {@code inventory.ledger.snapshot-cron}.
+     */
+    @Scheduled(cron = "${inventory.ledger.snapshot-cron:0 0 2 * * *}")
+    public void takeSnapshots() {
+        int taken = ledgerService.takeSnapshots();
+        log.info("Took {} stock snapshots", taken);
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.bojan.inventorymanagement.job;
+
+import com.bojan.inventorymanagement.service.InventoryValuationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically verifies the incrementally maintained valuation aggregates against a full scan.
+ * The first run happens shortly after startup, which also fills the aggregates of a database
+ * that already had products before they were introduced.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ValuationReconciliationJob {
+
+    private final InventoryValuationService valuationService;
+
+    /**
+     * Runs the reconciliation; the interval is configured with {@code inventory.valuation.reconcile-interval}.
+     */
+    @Scheduled(initialDelayString = "${inventory.valuation.reconcile-initial-delay:PT10S}",
+            fixedDelayString = "${inventory.valuation.reconcile-interval:PT1H}")
+    public void reconcile() {
+        int repaired = valuationService.reconcile();
+        if (repaired > 0) {
+            log.warn("Valuation reconciliation repaired {} aggregate rows", repaired);
+        } else {
+            log.info("Valuation reconciliation found no differences");
+        }
+    }
+
+}
@@ -19,6 +19,7 @@ public class CategoryMapper {
         return Category.builder()
                 .name(dto.getName())
                 .description(dto.getDescription())
+                .reorderThreshold(dto.getReorderThreshold())
                 .build();
     }
 
@@ -30,8 +31,11 @@ public class CategoryMapper {
      */
     public static CategoryDTO toDto(Category category) {
         return CategoryDTO.builder()
+                .id(category.getId())
                 .name(category.getName())
                 .description(category.getDescription())
+                .reorderThreshold(category.getReorderThreshold())
+                .version(category.getVersion())
                 .build();
     }
 
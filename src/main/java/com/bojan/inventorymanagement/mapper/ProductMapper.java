@@ -1,6 +1,7 @@
 package com.bojan.inventorymanagement.mapper;
 
 import com.bojan.inventorymanagement.dto.ProductDTO;
+import com.bojan.inventorymanagement.dto.ProductExportDTO;
 import com.bojan.inventorymanagement.model.Category;
 import com.bojan.inventorymanagement.model.Product;
 import com.bojan.inventorymanagement.model.Supplier;
@@ -29,6 +30,7 @@ public class ProductMapper {
 //                .sku(dto.getSku())
                 .unit(dto.getUnit())
 //                .active(dto.isActive())
+                .reorderThreshold(dto.getReorderThreshold())
                 .category(category)
                 .supplier(supplier)
                 .build();
@@ -50,8 +52,30 @@ public class ProductMapper {
 //                .sku(product.getSku())
                 .unit(product.getUnit())
 //                .active(product.isActive())
+                .reorderThreshold(product.getReorderThreshold())
                 .categoryId(product.getCategory().getId())
                 .supplierId(product.getSupplier().getId())
+                .version(product.getVersion())
+                .build();
+    }
+
+    /**
+     * Converts a Product entity, with its category and supplier loaded, to a row of a product list download.
+     *
+     * @param product the Product entity to convert
+     * @return a ProductExportDTO carrying the category and supplier names
+     */
+    public static ProductExportDTO toExportDTO(Product product) {
+        return ProductExportDTO.builder()
+                .id(product.getId())
+                .name(product.getName())
+                .description(product.getDescription())
+                .price(product.getPrice())
+                .quantity(product.getQuantity())
+                .unit(product.getUnit())
+                .reorderThreshold(product.getReorderThreshold())
+                .categoryName(product.getCategory() == null ? null : product.getCategory().getName())
+                .supplierName(product.getSupplier() == null ? null : product.getSupplier().getName())
                 .build();
     }
 
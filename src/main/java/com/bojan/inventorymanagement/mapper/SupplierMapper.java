@@ -33,11 +33,13 @@ public class SupplierMapper {
      */
     public static SupplierDTO toDto(Supplier supplier) {
         return SupplierDTO.builder()
+                .id(supplier.getId())
                 .name(supplier.getName())
                 .contactName(supplier.getContactName())
                 .email(supplier.getEmail())
                 .phone(supplier.getPhone())
                 .address(supplier.getAddress())
+                .version(supplier.getVersion())
                 .build();
     }
 
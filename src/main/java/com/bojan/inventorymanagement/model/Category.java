@@ -2,12 +2,19 @@ package com.bojan.inventorymanagement.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 /**
  * Represents a category of products in the inventory system.
  * Each category has a name and a description and can be associated with multiple products.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "category")  // Second-level cache, bounded in application.conf
+@DynamicUpdate  // UPDATE statements only contain the columns that actually changed
 @Table(name = "category")
 @Data
 @NoArgsConstructor
@@ -15,8 +22,10 @@ import lombok.*;
 @Builder
 public class Category {
 
+    /** Allocated from a pooled sequence so that inserts can be sent in JDBC batches */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "category_seq")
+    @SequenceGenerator(name = "category_seq", sequenceName = "category_seq", allocationSize = 50)
     private Long id;
 
     /** Name of the category (e.g. Electronics, Beverages) */
@@ -27,4 +36,14 @@ public class Category {
     @Column(nullable = false)
     private String description;
 
+    /** Default reorder threshold for products of this category that do not define their own; null disables it */
+    @Column(name = "reorder_threshold")
+    private Integer reorderThreshold;
+
+    /** Revision of the row, incremented on every update; used for optimistic locking and ETags */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
 }
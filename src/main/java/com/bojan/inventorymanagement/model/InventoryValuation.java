@@ -0,0 +1,61 @@
+package com.bojan.inventorymanagement.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * Running stock value of the products of one category or one supplier.
+ * Maintained by applying deltas in the transaction of every product write,
+ * so reports never have to scan the product table.
+ * Products without a category or supplier are counted under scope ID 0.
+ */
+@Entity
+@Table(name = "inventory_valuation")
+@IdClass(InventoryValuation.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InventoryValuation {
+
+    /** Whether the row aggregates a category or a supplier */
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private ValuationScope scope;
+
+    /** ID of the category or supplier */
+    @Id
+    @Column(name = "scope_id")
+    private Long scopeId;
+
+    /** Sum of {@code price * quantity} over the products */
+    @Column(name = "total_value", nullable = false, precision = 38, scale = 2)
+    private BigDecimal totalValue;
+
+    /** Sum of the quantities in stock */
+    @Column(name = "total_quantity", nullable = false)
+    private long totalQuantity;
+
+    /** Number of products */
+    @Column(name = "product_count", nullable = false)
+    private long productCount;
+
+    /**
+     * Composite primary key of an aggregate row.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        private ValuationScope scope;
+
+        private Long scopeId;
+
+    }
+
+}
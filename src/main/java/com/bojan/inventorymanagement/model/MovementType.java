@@ -0,0 +1,27 @@
+package com.bojan.inventorymanagement.model;
+
+/**
+ * Kind of a stock movement recorded in the ledger.
+ */
+public enum MovementType {
+
+    /** Goods received into stock, including the initial stock of a new product */
+    RECEIPT,
+
+    /** Goods taken out of stock, e.g. to fulfil an order */
+    PICK,
+
+    /** Any other correction, e.g. a stock count, a manual edit or a deleted product */
+    ADJUSTMENT;
+
+    /**
+     * The type used when the client does not specify one: receipts add stock, picks remove it.
+     *
+     * @param delta the change of the quantity
+     * @return RECEIPT for a positive delta, PICK otherwise
+     */
+    public static MovementType forDelta(int delta) {
+        return delta > 0 ? RECEIPT : PICK;
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.bojan.inventorymanagement.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * A stock ledger entry that is not included in the snapshots yet.
+ * Recorded in the transaction of the movement and removed by the snapshot run that includes it,
+ * so a movement that commits after a run has read the ledger is picked up by the next run,
+ * however old its {@code occurredAt} is.
+ */
+@Entity
+@Table(name = "pending_snapshot_movement")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PendingSnapshotMovement {
+
+    /** Allocated from a pooled sequence so that pending movements can be inserted in JDBC batches */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pending_snapshot_movement_seq")
+    @SequenceGenerator(name = "pending_snapshot_movement_seq", sequenceName = "pending_snapshot_movement_seq", allocationSize = 50)
+    private Long id;
+
+    /** ID of the movement in the stock ledger */
+    @Column(name = "movement_id", nullable = false, unique = true)
+    private Long movementId;
+
+    /** ID of the product whose stock changed */
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    /** Signed change of the quantity */
+    @Column(name = "quantity_change", nullable = false)
+    private int quantityChange;
+
+    /** When the movement was recorded */
+    @Column(name = "occurred_at", nullable = false)
+    private Instant occurredAt;
+
+}
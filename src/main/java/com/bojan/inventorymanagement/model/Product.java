@@ -2,6 +2,8 @@ package com.bojan.inventorymanagement.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.math.BigDecimal;
 
@@ -11,15 +13,27 @@ import java.math.BigDecimal;
  * and relations to its category and supplier.
  */
 @Entity
-@Table(name = "product")
+@DynamicUpdate  // UPDATE statements only contain the columns that actually changed
+@Table(name = "product", indexes = {
+        // Supports keyset pagination of the product list ordered by name
+        @Index(name = "idx_product_name_id", columnList = "name, id"),
+        // Support the product list filters; also serve the foreign key lookups on category/supplier deletes
+        @Index(name = "idx_product_category_supplier", columnList = "category_id, supplier_id"),
+        @Index(name = "idx_product_supplier_name", columnList = "supplier_id, name"),
+        @Index(name = "idx_product_price", columnList = "price"),
+        @Index(name = "idx_product_quantity", columnList = "quantity"),
+        @Index(name = "idx_product_unit", columnList = "unit")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Product {
 
+    /** Allocated from a pooled sequence so that inserts can be sent in JDBC batches */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq")
+    @SequenceGenerator(name = "product_seq", sequenceName = "product_seq", allocationSize = 50)
     private Long id;
 
     /** Name of the product (e.g. "Apple Juice") */
@@ -45,14 +59,28 @@ public class Product {
 
 //    private boolean active = true;
 
-    /** The category this product belongs to */
-    @ManyToOne
+    /** Quantity below which the product is reported as low on stock; null falls back to the category's threshold */
+    @Column(name = "reorder_threshold")
+    private Integer reorderThreshold;
+
+    /** The category this product belongs to, loaded only when a fetch plan asks for it */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @JoinColumn(name = "category_id")
     private Category category;
 
-    /** The supplier providing this product */
-    @ManyToOne
+    /** The supplier providing this product, loaded only when a fetch plan asks for it */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @JoinColumn(name = "supplier_id")
     private Supplier supplier;
 
+    /** Revision of the row, incremented on every update; used for optimistic locking and ETags */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
 }
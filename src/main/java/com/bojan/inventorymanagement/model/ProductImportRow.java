@@ -0,0 +1,80 @@
+package com.bojan.inventorymanagement.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * A validated row of a CSV product import, staged before it is merged into the product table.
+ * Rows of one import share an import ID and are deleted once the import has been applied.
+ * On PostgreSQL the table is UNLOGGED (see schema-postgresql.sql), as its content is transient.
+ */
+@Entity
+@Table(name = "product_import_staging", indexes = {
+        // Serves matching the staged rows against existing products and removing duplicates
+        @Index(name = "idx_product_import_staging_key", columnList = "import_id, supplier_id, name")
+})
+@IdClass(ProductImportRow.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductImportRow {
+
+    /** ID of the import the row belongs to */
+    @Id
+    @Column(name = "import_id", length = 36)
+    private String importId;
+
+    /** Line number in the CSV file, used in error messages and to let later lines win */
+    @Id
+    @Column(name = "line_no")
+    private Long lineNo;
+
+    @Column(nullable = false)
+    private String name;
+
+    private String description;
+
+    @Column(nullable = false)
+    private BigDecimal price;
+
+    @Column(nullable = false)
+    private int quantity;
+
+    private String unit;
+
+    @Column(name = "reorder_threshold")
+    private Integer reorderThreshold;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    @Column(name = "supplier_id", nullable = false)
+    private Long supplierId;
+
+    /** ID of the product the row updates or creates; set while the import is applied */
+    @Column(name = "product_id")
+    private Long productId;
+
+    /** Quantity of the matched product before the import; null if the row creates a new product */
+    @Column(name = "old_quantity")
+    private Integer oldQuantity;
+
+    /**
+     * Composite primary key of a staged row.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        private String importId;
+
+        private Long lineNo;
+
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.bojan.inventorymanagement.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * An active low-stock alert.
+ * A product has an alert while its quantity is below its reorder threshold; the alert is
+ * removed as soon as the stock is replenished. The current quantity and threshold are
+ * read from the product, so the row only records when the threshold was crossed.
+ */
+@Entity
+@Table(name = "stock_alert")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockAlert {
+
+    /** The product running low; doubles as the primary key, as a product has at most one active alert */
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    /** When the quantity dropped below the reorder threshold */
+    @Column(name = "triggered_at", nullable = false)
+    private Instant triggeredAt;
+
+}
@@ -0,0 +1,51 @@
+package com.bojan.inventorymanagement.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * An entry of the append-only stock ledger: one change of a product's quantity.
+ * Rows are never updated or deleted. On PostgreSQL the table is range partitioned by
+ * {@code occurred_at} (see schema-postgresql.sql), so old months can be detached and archived.
+ * The product is referenced by ID only, so the history outlives deleted products.
+ */
+@Entity
+@Table(name = "stock_movement", indexes = {
+        // Serves the movement history of a product and the as-of sums within every partition
+        @Index(name = "idx_stock_movement_product_time", columnList = "product_id, occurred_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockMovement {
+
+    /** Allocated from a pooled sequence so that movements can be inserted in JDBC batches */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_movement_seq")
+    @SequenceGenerator(name = "stock_movement_seq", sequenceName = "stock_movement_seq", allocationSize = 50)
+    private Long id;
+
+    /** ID of the product whose stock changed */
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    /** Kind of the movement */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private MovementType type;
+
+    /** Signed change of the quantity */
+    @Column(name = "quantity_change", nullable = false)
+    private int quantityChange;
+
+    /** Free text explaining the movement, e.g. an order or delivery number */
+    private String reason;
+
+    /** When the movement was recorded; also the partition key */
+    @Column(name = "occurred_at", nullable = false)
+    private Instant occurredAt;
+
+}
@@ -0,0 +1,51 @@
+package com.bojan.inventorymanagement.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * The quantity of a product at a point in time, derived from the stock ledger.
+ * Quantities as of any date are computed from the latest snapshot before it plus the
+ * movements after the snapshot, so the full history never has to be replayed.
+ */
+@Entity
+@Table(name = "stock_snapshot")
+@IdClass(StockSnapshot.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockSnapshot {
+
+    /** ID of the product */
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    /** Point in time the quantity refers to; includes all movements up to and including it */
+    @Id
+    @Column(name = "taken_at")
+    private Instant takenAt;
+
+    /** Quantity on hand at {@code takenAt} */
+    @Column(nullable = false)
+    private int quantity;
+
+    /**
+     * Composite primary key of a snapshot.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        private Long productId;
+
+        private Instant takenAt;
+
+    }
+
+}
@@ -2,12 +2,19 @@ package com.bojan.inventorymanagement.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 /**
  * Represents a supplier in the inventory system.
  * Contains basic contact information and address for the supplier entity.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "supplier")  // Second-level cache, bounded in application.conf
+@DynamicUpdate  // UPDATE statements only contain the columns that actually changed
 @Table(name = "supplier")
 @Data
 @NoArgsConstructor
@@ -15,8 +22,10 @@ import lombok.*;
 @Builder
 public class Supplier {
 
+    /** Allocated from a pooled sequence so that inserts can be sent in JDBC batches */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "supplier_seq")
+    @SequenceGenerator(name = "supplier_seq", sequenceName = "supplier_seq", allocationSize = 50)
     private Long id;
 
     /** Company or business name of the supplier */
@@ -39,4 +48,10 @@ public class Supplier {
     @Column(nullable = false)
     private String address;
 
+    /** Revision of the row, incremented on every update; used for optimistic locking and ETags */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
 }
@@ -0,0 +1,14 @@
+package com.bojan.inventorymanagement.model;
+
+/**
+ * Grouping of an inventory valuation aggregate.
+ */
+public enum ValuationScope {
+
+    /** Stock value of the products of one category */
+    CATEGORY,
+
+    /** Stock value of the products of one supplier */
+    SUPPLIER
+
+}
@@ -1,11 +1,94 @@
 package com.bojan.inventorymanagement.repository;
 
+import com.bojan.inventorymanagement.dto.CategoryDTO;
 import com.bojan.inventorymanagement.model.Category;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for managing Category entities.
  * Inherits standard CRUD operations from JpaRepository.
  */
 public interface CategoryRepository extends JpaRepository<Category, Long> {
+
+    /** Projection of the category columns into a CategoryDTO */
+    String CATEGORY_DTO_SELECT = "SELECT new com.bojan.inventorymanagement.dto.CategoryDTO(c.id, c.name, c.description, c.reorderThreshold, c.version) FROM Category c";
+
+    /**
+     * Keyset page ordered by ID, served by the primary key index.
+     * Selects straight into DTOs, so no entities are hydrated or tracked.
+     *
+     * @param id the ID of the last category of the previous page
+     * @param limit the maximum number of categories to return
+     * @return categories with an ID greater than the given one, in ID order
+     */
+    @Query(CATEGORY_DTO_SELECT + " WHERE c.id > :id ORDER BY c.id")
+    List<CategoryDTO> findDtosAfterId(@Param("id") Long id, Limit limit);
+
+    /**
+     * Loads only the row version of a category, e.g. to answer a conditional request.
+     *
+     * @param id the ID of the category
+     * @return the row version, if the category exists
+     */
+    @Query("SELECT c.version FROM Category c WHERE c.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * Loads a single category as a DTO, without hydrating the entity.
+     *
+     * @param id the ID of the category
+     * @return the category DTO, if found
+     */
+    @Query(CATEGORY_DTO_SELECT + " WHERE c.id = :id")
+    Optional<CategoryDTO> findDtoById(@Param("id") Long id);
+
+    /**
+     * Loads all categories. The result is kept in Hibernate's query cache and the categories themselves in the
+     * second-level cache, until a category is written.
+     * Call it on the primary database (see {@link com.bojan.inventorymanagement.config.ReadYourWrites#readFromPrimary}):
+     * a result read from a lagging replica would be cached as current.
+     *
+     * @return all categories
+     */
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Category> findAll();
+
+    /**
+     * Looks up categories by name in a single query, e.g. to resolve the references of an import.
+     *
+     * @param names the names to look up
+     * @return the matching categories, in ID order
+     */
+    List<Category> findByNameInOrderById(Collection<String> names);
+
+    /**
+     * Counts the categories with the given IDs, e.g. for the dry run of a bulk delete.
+     *
+     * @param ids the IDs to look up
+     * @return the number of categories that exist
+     */
+    long countByIdIn(Collection<Long> ids);
+
+    /**
+     * Deletes the given categories with a single statement, without loading them first.
+     *
+     * @param ids the IDs of the categories
+     * @return the number of categories deleted
+     */
+    @Modifying
+    @Query("DELETE FROM Category c WHERE c.id IN :ids")
+    int deleteAllByIds(@Param("ids") Collection<Long> ids);
+
 }
@@ -0,0 +1,112 @@
+package com.bojan.inventorymanagement.repository;
+
+import com.bojan.inventorymanagement.dto.ValuationDTO;
+import com.bojan.inventorymanagement.model.InventoryValuation;
+import com.bojan.inventorymanagement.model.ValuationScope;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Repository interface for managing the InventoryValuation aggregates.
+ */
+public interface InventoryValuationRepository extends JpaRepository<InventoryValuation, InventoryValuation.Key> {
+
+    /**
+     * Adds a delta to an aggregate row in place, without reading it first.
+     *
+     * @param scope whether the row aggregates a category or a supplier
+     * @param scopeId the ID of the category or supplier
+     * @param value the change of the stock value
+     * @param quantity the change of the number of units
+     * @param productCount the change of the number of products
+     * @return the number of rows updated, 0 if the row does not exist yet
+     */
+    @Modifying
+    @Query("""
+            UPDATE InventoryValuation v
+            SET v.totalValue = v.totalValue + :value, v.totalQuantity = v.totalQuantity + :quantity,
+                v.productCount = v.productCount + :productCount
+            WHERE v.scope = :scope AND v.scopeId = :scopeId
+            """)
+    int addDelta(@Param("scope") ValuationScope scope, @Param("scopeId") Long scopeId, @Param("value") BigDecimal value,
+                 @Param("quantity") long quantity, @Param("productCount") long productCount);
+
+    /**
+     * Creates an empty aggregate row, unless a concurrent transaction already did.
+     *
+     * @param scope the name of the scope, e.g. "CATEGORY"
+     * @param scopeId the ID of the category or supplier
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "inventory_valuation"))
+    @Query(value = "INSERT INTO inventory_valuation (scope, scope_id, total_value, total_quantity, product_count) "
+            + "VALUES (:scope, :scopeId, 0, 0, 0) ON CONFLICT DO NOTHING", nativeQuery = true)
+    void insertIfAbsent(@Param("scope") String scope, @Param("scopeId") Long scopeId);
+
+    /**
+     * Loads the category aggregates with the category names, ordered by category ID.
+     *
+     * @return one row per category that ever had products
+     */
+    @Query("""
+            SELECT new com.bojan.inventorymanagement.dto.ValuationDTO(v.scopeId, c.name, v.totalValue, v.totalQuantity, v.productCount)
+            FROM InventoryValuation v
+            LEFT JOIN Category c ON c.id = v.scopeId
+            WHERE v.scope = com.bojan.inventorymanagement.model.ValuationScope.CATEGORY
+            ORDER BY v.scopeId
+            """)
+    List<ValuationDTO> findCategoryDtos();
+
+    /**
+     * Loads the supplier aggregates with the supplier names, ordered by supplier ID.
+     *
+     * @return one row per supplier that ever had products
+     */
+    @Query("""
+            SELECT new com.bojan.inventorymanagement.dto.ValuationDTO(v.scopeId, s.name, v.totalValue, v.totalQuantity, v.productCount)
+            FROM InventoryValuation v
+            LEFT JOIN Supplier s ON s.id = v.scopeId
+            WHERE v.scope = com.bojan.inventorymanagement.model.ValuationScope.SUPPLIER
+            ORDER BY v.scopeId
+            """)
+    List<ValuationDTO> findSupplierDtos();
+
+    /**
+     * Computes the category aggregates from a full scan of the product table.
+     * Only used to verify the maintained aggregates.
+     *
+     * @return the expected aggregate of every category that has products
+     */
+    @Query("""
+            SELECT new com.bojan.inventorymanagement.model.InventoryValuation(
+                com.bojan.inventorymanagement.model.ValuationScope.CATEGORY, COALESCE(p.category.id, 0L),
+                SUM(p.price * p.quantity), SUM(p.quantity), COUNT(p))
+            FROM Product p
+            GROUP BY p.category.id
+            """)
+    List<InventoryValuation> scanCategoryTotals();
+
+    /**
+     * Computes the supplier aggregates from a full scan of the product table.
+     * Only used to verify the maintained aggregates.
+     *
+     * @return the expected aggregate of every supplier that has products
+     */
+    @Query("""
+            SELECT new com.bojan.inventorymanagement.model.InventoryValuation(
+                com.bojan.inventorymanagement.model.ValuationScope.SUPPLIER, COALESCE(p.supplier.id, 0L),
+                SUM(p.price * p.quantity), SUM(p.quantity), COUNT(p))
+            FROM Product p
+            GROUP BY p.supplier.id
+            """)
+    List<InventoryValuation> scanSupplierTotals();
+
+}
@@ -0,0 +1,71 @@
+package com.bojan.inventorymanagement.repository;
+
+import com.bojan.inventorymanagement.model.PendingSnapshotMovement;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+
+/**
+ * Repository interface for the movements that are not included in the snapshots yet.
+ * Movements recorded with set-based inserts are queued by the product, time and reason they were
+ * recorded with; callers pass a time truncated to microseconds, the precision of the column.
+ */
+public interface PendingSnapshotMovementRepository extends JpaRepository<PendingSnapshotMovement, Long> {
+
+    /**
+     * Queues the movements just recorded for the given products.
+     *
+     * @param productIds the IDs of the products
+     * @param reason the reason the movements were recorded with
+     * @param occurredAt the time the movements were recorded with
+     * @return the number of movements queued
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "pending_snapshot_movement"))
+    @Query(value = """
+            INSERT INTO pending_snapshot_movement (id, movement_id, product_id, quantity_change, occurred_at)
+            SELECT nextval('pending_snapshot_movement_seq'), m.id, m.product_id, m.quantity_change, m.occurred_at
+            FROM stock_movement m
+            WHERE m.product_id IN (:productIds) AND m.occurred_at = :occurredAt AND m.reason = :reason
+            """, nativeQuery = true)
+    int queueRecorded(@Param("productIds") Collection<Long> productIds, @Param("reason") String reason,
+                      @Param("occurredAt") Instant occurredAt);
+
+    /**
+     * Queues the movements just recorded for the products of an import.
+     *
+     * @param importId the ID of the import
+     * @param reason the reason the movements were recorded with
+     * @param occurredAt the time the movements were recorded with
+     * @return the number of movements queued
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "pending_snapshot_movement"))
+    @Query(value = """
+            INSERT INTO pending_snapshot_movement (id, movement_id, product_id, quantity_change, occurred_at)
+            SELECT nextval('pending_snapshot_movement_seq'), m.id, m.product_id, m.quantity_change, m.occurred_at
+            FROM stock_movement m
+            WHERE m.product_id IN (SELECT s.product_id FROM product_import_staging s WHERE s.import_id = :importId)
+              AND m.occurred_at = :occurredAt AND m.reason = :reason
+            """, nativeQuery = true)
+    int queueImported(@Param("importId") String importId, @Param("reason") String reason,
+                      @Param("occurredAt") Instant occurredAt);
+
+    /**
+     * Removes the movements a snapshot run has included.
+     *
+     * @param cutoff the time of the run, inclusive
+     * @return the number of movements removed
+     */
+    @Modifying
+    @Query("DELETE FROM PendingSnapshotMovement m WHERE m.occurredAt <= :cutoff")
+    int deleteUpTo(@Param("cutoff") Instant cutoff);
+
+}
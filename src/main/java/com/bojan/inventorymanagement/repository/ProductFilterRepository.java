@@ -0,0 +1,24 @@
+package com.bojan.inventorymanagement.repository;
+
+import com.bojan.inventorymanagement.dto.ProductDTO;
+import com.bojan.inventorymanagement.dto.ProductExportDTO;
+import com.bojan.inventorymanagement.model.Product;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Custom repository fragment for filtered product queries that project into DTOs,
+ * and for selecting the products of a bulk operation.
+ */
+public interface ProductFilterRepository {
+
+    List<ProductDTO> findDtos(Specification<Product> specification, long afterId, int limit);
+    List<ProductExportDTO> findExportDtos(Specification<Product> specification, long afterId, int limit);
+    Page<ProductExportDTO> findExportDtos(Specification<Product> specification, Pageable pageable);
+    List<Long> lockIds(Specification<Product> specification, long afterId, int limit);
+    long count(Specification<Product> specification);
+
+}
@@ -0,0 +1,215 @@
+package com.bojan.inventorymanagement.repository;
+
+import com.bojan.inventorymanagement.dto.ProductDTO;
+import com.bojan.inventorymanagement.dto.ProductExportDTO;
+import com.bojan.inventorymanagement.model.Category;
+import com.bojan.inventorymanagement.model.Product;
+import com.bojan.inventorymanagement.model.Supplier;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementation of the ProductFilterRepository fragment using the Criteria API.
+ */
+public class ProductFilterRepositoryImpl implements ProductFilterRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Keyset page of products matching a specification, ordered by ID and projected into DTOs.
+     *
+     * @param specification the filter to apply
+     * @param afterId the ID of the last product of the previous page, 0 for the first page
+     * @param limit the maximum number of products to return
+     * @return matching products with an ID greater than {@code afterId}, in ID order
+     */
+    @Override
+    public List<ProductDTO> findDtos(Specification<Product> specification, long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductDTO> query = cb.createQuery(ProductDTO.class);
+        Root<Product> product = query.from(Product.class);
+
+        Predicate predicate = specification.toPredicate(product, query, cb);
+        // The first page needs no keyset condition, which leaves the planner free to pick the filter's index
+        if (afterId > 0) {
+            predicate = cb.and(predicate, cb.greaterThan(product.get("id"), afterId));
+        }
+
+        query.select(cb.construct(ProductDTO.class,
+                        product.get("id"),
+                        product.get("name"),
+                        product.get("description"),
+                        product.get("price"),
+                        product.get("quantity"),
+                        product.get("unit"),
+                        product.get("reorderThreshold"),
+                        product.get("category").get("id"),
+                        product.get("supplier").get("id"),
+                        product.get("version")))
+                .where(predicate)
+                .orderBy(cb.asc(product.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Keyset page of products matching a specification, ordered by ID, with the names of their
+     * category and supplier joined in, as needed for a product list download.
+     *
+     * @param specification the filter to apply
+     * @param afterId the ID of the last product of the previous page, 0 for the first page
+     * @param limit the maximum number of products to return
+     * @return matching products with an ID greater than {@code afterId}, in ID order
+     */
+    @Override
+    public List<ProductExportDTO> findExportDtos(Specification<Product> specification, long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductExportDTO> query = cb.createQuery(ProductExportDTO.class);
+        Root<Product> product = query.from(Product.class);
+        Join<Product, Category> category = product.join("category", JoinType.LEFT);
+        Join<Product, Supplier> supplier = product.join("supplier", JoinType.LEFT);
+
+        Predicate predicate = specification.toPredicate(product, query, cb);
+        if (afterId > 0) {
+            predicate = cb.and(predicate, cb.greaterThan(product.get("id"), afterId));
+        }
+
+        query.select(cb.construct(ProductExportDTO.class,
+                        product.get("id"),
+                        product.get("name"),
+                        product.get("description"),
+                        product.get("price"),
+                        product.get("quantity"),
+                        product.get("unit"),
+                        product.get("reorderThreshold"),
+                        category.get("name"),
+                        supplier.get("name")))
+                .where(predicate)
+                .orderBy(cb.asc(product.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Numbered page of products matching a specification, with the names of their category and
+     * supplier joined in, as shown on the product list page.
+     * Besides the product attributes, the sort may use {@code category} and {@code supplier}, which
+     * sort by their names; the ID is always appended as a tie-breaker, so rows don't move between
+     * pages. The total is only counted when the page does not already tell it.
+     *
+     * @param specification the filter to apply
+     * @param pageable the page number, page size and sort order
+     * @return the requested page of matching products
+     */
+    @Override
+    public Page<ProductExportDTO> findExportDtos(Specification<Product> specification, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductExportDTO> query = cb.createQuery(ProductExportDTO.class);
+        Root<Product> product = query.from(Product.class);
+        Join<Product, Category> category = product.join("category", JoinType.LEFT);
+        Join<Product, Supplier> supplier = product.join("supplier", JoinType.LEFT);
+
+        List<Order> orders = new ArrayList<>();
+        for (Sort.Order order : pageable.getSort()) {
+            Path<?> path = switch (order.getProperty()) {
+                case "category" -> category.get("name");
+                case "supplier" -> supplier.get("name");
+                default -> product.get(order.getProperty());
+            };
+            orders.add(order.isAscending() ? cb.asc(path) : cb.desc(path));
+        }
+        if (pageable.getSort().getOrderFor("id") == null) {
+            orders.add(cb.asc(product.get("id")));
+        }
+
+        query.select(cb.construct(ProductExportDTO.class,
+                        product.get("id"),
+                        product.get("name"),
+                        product.get("description"),
+                        product.get("price"),
+                        product.get("quantity"),
+                        product.get("unit"),
+                        product.get("reorderThreshold"),
+                        category.get("name"),
+                        supplier.get("name")))
+                .where(specification.toPredicate(product, query, cb))
+                .orderBy(orders);
+
+        List<ProductExportDTO> rows = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+        return PageableExecutionUtils.getPage(rows, pageable, () -> count(specification));
+    }
+
+    /**
+     * Keyset page of the IDs of products matching a specification, ordered by ID, locked for update.
+     * Used to take one chunk of a bulk operation: the rows stay locked until its transaction ends,
+     * so the values read for the side effects cannot change before the rows are written, and
+     * concurrent bulk operations lock in the same order and cannot deadlock.
+     *
+     * @param specification the filter to apply
+     * @param afterId the ID of the last product of the previous chunk, 0 for the first chunk
+     * @param limit the maximum number of IDs to return
+     * @return IDs of matching products greater than {@code afterId}, in ascending order
+     */
+    @Override
+    public List<Long> lockIds(Specification<Product> specification, long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Product> product = query.from(Product.class);
+
+        Predicate predicate = specification.toPredicate(product, query, cb);
+        if (afterId > 0) {
+            predicate = cb.and(predicate, cb.greaterThan(product.get("id"), afterId));
+        }
+
+        query.select(product.get("id"))
+                .where(predicate)
+                .orderBy(cb.asc(product.get("id")));
+
+        return entityManager.createQuery(query)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Counts the products matching a specification.
+     *
+     * @param specification the filter to apply
+     * @return the number of matching products
+     */
+    @Override
+    public long count(Specification<Product> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Product> product = query.from(Product.class);
+        query.select(cb.count(product))
+                .where(specification.toPredicate(product, query, cb));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+}
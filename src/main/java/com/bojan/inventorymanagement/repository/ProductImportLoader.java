@@ -0,0 +1,14 @@
+package com.bojan.inventorymanagement.repository;
+
+import com.bojan.inventorymanagement.model.ProductImportRow;
+
+import java.util.List;
+
+/**
+ * Custom repository fragment that bulk loads staged import rows.
+ */
+public interface ProductImportLoader {
+
+    void load(List<ProductImportRow> rows);
+
+}
@@ -0,0 +1,88 @@
+package com.bojan.inventorymanagement.repository;
+
+import com.bojan.inventorymanagement.model.ProductImportRow;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Implementation of the ProductImportLoader fragment.
+ * On PostgreSQL the rows are streamed into the staging table with {@code COPY ... FROM STDIN},
+ * which avoids per-row statement overhead; other databases (e.g. H2 in the tests) fall back
+ * to a JDBC batch insert.
+ */
+public class ProductImportLoaderImpl implements ProductImportLoader {
+
+    private static final String COLUMNS =
+            "import_id, line_no, name, description, price, quantity, unit, reorder_threshold, category_id, supplier_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ProductImportLoaderImpl(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Loads the rows into the staging table, using the connection of the current transaction.
+     *
+     * @param rows the validated rows of one chunk
+     */
+    @Override
+    public void load(List<ProductImportRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.execute((Connection connection) -> {
+            if (connection.isWrapperFor(PGConnection.class)) {
+                copy(connection.unwrap(PGConnection.class), rows);
+            } else {
+                insert(rows);
+            }
+            return null;
+        });
+    }
+
+    private void copy(PGConnection connection, List<ProductImportRow> rows) throws SQLException {
+        // CSV text of one chunk; nulls are written unquoted and empty strings quoted, as COPY expects
+        StringWriter csv = new StringWriter();
+        try (CSVPrinter printer = new CSVPrinter(csv, CSVFormat.POSTGRESQL_CSV)) {
+            for (ProductImportRow row : rows) {
+                printer.printRecord(row.getImportId(), row.getLineNo(), row.getName(), row.getDescription(),
+                        row.getPrice(), row.getQuantity(), row.getUnit(), row.getReorderThreshold(),
+                        row.getCategoryId(), row.getSupplierId());
+            }
+            connection.getCopyAPI().copyIn("COPY product_import_staging (" + COLUMNS + ") FROM STDIN WITH (FORMAT csv)",
+                    new StringReader(csv.toString()));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void insert(List<ProductImportRow> rows) {
+        jdbcTemplate.batchUpdate("INSERT INTO product_import_staging (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                rows, rows.size(), (statement, row) -> {
+                    statement.setString(1, row.getImportId());
+                    statement.setLong(2, row.getLineNo());
+                    statement.setString(3, row.getName());
+                    statement.setString(4, row.getDescription());
+                    statement.setBigDecimal(5, row.getPrice());
+                    statement.setInt(6, row.getQuantity());
+                    statement.setString(7, row.getUnit());
+                    statement.setObject(8, row.getReorderThreshold(), Types.INTEGER);
+                    statement.setLong(9, row.getCategoryId());
+                    statement.setLong(10, row.getSupplierId());
+                });
+    }
+
+}
@@ -0,0 +1,191 @@
+package com.bojan.inventorymanagement.repository;
+
+import com.bojan.inventorymanagement.event.ValuationDelta;
+import com.bojan.inventorymanagement.model.ProductImportRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository interface for the CSV import staging table.
+ * Besides the bulk loader fragment it holds the set-based statements that merge a staged import
+ * into the product table. Products are matched on (supplier, name), as the supplier price files
+ * carry no product IDs; within one import the last line for a product wins.
+ */
+public interface ProductImportRepository extends JpaRepository<ProductImportRow, ProductImportRow.Key>, ProductImportLoader {
+
+    /**
+     * Removes staged rows that are superseded by a later line for the same supplier and name.
+     *
+     * @param importId the ID of the import
+     * @return the number of rows removed
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "product_import_staging"))
+    @Query(value = """
+            DELETE FROM product_import_staging s
+            WHERE s.import_id = :importId
+              AND EXISTS (SELECT 1 FROM product_import_staging d
+                          WHERE d.import_id = s.import_id AND d.supplier_id = s.supplier_id
+                            AND d.name = s.name AND d.line_no > s.line_no)
+            """, nativeQuery = true)
+    int removeSupersededRows(@Param("importId") String importId);
+
+    /**
+     * Locks the existing products an import is going to update, in ID order, so the quantities
+     * read while matching cannot change before the update and concurrent imports cannot deadlock.
+     *
+     * @param importId the ID of the import
+     * @return the number of products locked
+     */
+    @Query(value = """
+            SELECT COUNT(*) FROM (SELECT p.id FROM product p
+                                  WHERE EXISTS (SELECT 1 FROM product_import_staging s
+                                                WHERE s.import_id = :importId AND s.supplier_id = p.supplier_id AND s.name = p.name)
+                                  ORDER BY p.id FOR UPDATE) locked
+            """, nativeQuery = true)
+    long lockMatchedProducts(@Param("importId") String importId);
+
+    /**
+     * Links every staged row to the existing product with the same supplier and name, if any,
+     * and records that product's current quantity for the stock ledger.
+     *
+     * @param importId the ID of the import
+     * @return the number of rows processed
+     */
+    @Modifying
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "product_import_staging"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "product")
+    })
+    @Query(value = """
+            UPDATE product_import_staging s
+            SET (product_id, old_quantity) = (SELECT p.id, p.quantity FROM product p
+                                              WHERE p.supplier_id = s.supplier_id AND p.name = s.name
+                                              ORDER BY p.id LIMIT 1)
+            WHERE s.import_id = :importId
+            """, nativeQuery = true)
+    int matchExistingProducts(@Param("importId") String importId);
+
+    /**
+     * Assigns IDs from the product sequence to the staged rows that create new products.
+     *
+     * @param importId the ID of the import
+     * @return the number of new products
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "product_import_staging"))
+    @Query(value = "UPDATE product_import_staging SET product_id = nextval('product_seq') WHERE import_id = :importId AND product_id IS NULL",
+            nativeQuery = true)
+    int assignNewProductIds(@Param("importId") String importId);
+
+    /**
+     * Overwrites the matched products with the staged values and bumps their version.
+     * A blank reorder threshold in the file keeps the product's current threshold.
+     *
+     * @param importId the ID of the import
+     * @return the number of products updated
+     */
+    @Modifying
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "product"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "product_import_staging")
+    })
+    @Query(value = """
+            UPDATE product p
+            SET (description, price, quantity, unit, reorder_threshold, category_id, version) =
+                (SELECT COALESCE(s.description, ''), s.price, s.quantity, s.unit, COALESCE(s.reorder_threshold, p.reorder_threshold),
+                        s.category_id, p.version + 1
+                 FROM product_import_staging s
+                 WHERE s.import_id = :importId AND s.product_id = p.id)
+            WHERE p.id IN (SELECT s.product_id FROM product_import_staging s
+                           WHERE s.import_id = :importId AND s.old_quantity IS NOT NULL)
+            """, nativeQuery = true)
+    int updateMatchedProducts(@Param("importId") String importId);
+
+    /**
+     * Inserts the staged rows that create new products.
+     *
+     * @param importId the ID of the import
+     * @return the number of products inserted
+     */
+    @Modifying
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "product"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "product_import_staging")
+    })
+    @Query(value = """
+            INSERT INTO product (id, name, description, price, quantity, unit, reorder_threshold, category_id, supplier_id, version)
+            SELECT s.product_id, s.name, COALESCE(s.description, ''), s.price, s.quantity, s.unit, s.reorder_threshold,
+                   s.category_id, s.supplier_id, 0
+            FROM product_import_staging s
+            WHERE s.import_id = :importId AND s.old_quantity IS NULL
+            """, nativeQuery = true)
+    int insertNewProducts(@Param("importId") String importId);
+
+    /**
+     * Sums the stock value, quantity and count of the products an import touches, per category and supplier.
+     * Read before and after the import is applied, to derive the change of the inventory valuation.
+     *
+     * @param importId the ID of the import
+     * @return one delta per category and supplier adding the products' stock value, quantity and count
+     */
+    @Query("SELECT new com.bojan.inventorymanagement.event.ValuationDelta(p.category.id, p.supplier.id, SUM(p.price * p.quantity), SUM(p.quantity), COUNT(p)) "
+            + "FROM Product p WHERE p.id IN (SELECT r.productId FROM ProductImportRow r WHERE r.importId = :importId) "
+            + "GROUP BY p.category.id, p.supplier.id")
+    List<ValuationDelta> findValuationTotals(@Param("importId") String importId);
+
+    /**
+     * Records the quantity changes of the import in the stock ledger.
+     *
+     * @param importId the ID of the import
+     * @param reason the reason to record, e.g. the file name
+     * @param now the time of the movements
+     * @return the number of movements recorded
+     */
+    @Modifying
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stock_movement"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "product_import_staging")
+    })
+    @Query(value = """
+            INSERT INTO stock_movement (id, product_id, type, quantity_change, reason, occurred_at)
+            SELECT nextval('stock_movement_seq'), s.product_id,
+                   CASE WHEN s.old_quantity IS NULL THEN 'RECEIPT' ELSE 'ADJUSTMENT' END,
+                   s.quantity - COALESCE(s.old_quantity, 0), :reason, :now
+            FROM product_import_staging s
+            WHERE s.import_id = :importId AND s.quantity <> COALESCE(s.old_quantity, 0)
+            """, nativeQuery = true)
+    int recordStockMovements(@Param("importId") String importId, @Param("reason") String reason, @Param("now") Instant now);
+
+    /**
+     * Keyset page of the IDs of the products touched by an import.
+     *
+     * @param importId the ID of the import
+     * @param afterProductId the last product ID of the previous page
+     * @param limit the maximum number of IDs to return
+     * @return product IDs greater than {@code afterProductId}, in ascending order
+     */
+    @Query("SELECT r.productId FROM ProductImportRow r WHERE r.importId = :importId AND r.productId > :afterProductId ORDER BY r.productId")
+    List<Long> findProductIds(@Param("importId") String importId, @Param("afterProductId") Long afterProductId, Limit limit);
+
+    /**
+     * Removes all staged rows of an import.
+     *
+     * @param importId the ID of the import
+     * @return the number of rows removed
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "product_import_staging"))
+    @Query(value = "DELETE FROM product_import_staging WHERE import_id = :importId", nativeQuery = true)
+    int deleteByImportId(@Param("importId") String importId);
+
+}
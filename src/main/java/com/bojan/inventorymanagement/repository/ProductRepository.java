@@ -1,11 +1,222 @@
 package com.bojan.inventorymanagement.repository;
 
+import com.bojan.inventorymanagement.dto.ProductDTO;
+import com.bojan.inventorymanagement.event.ValuationDelta;
 import com.bojan.inventorymanagement.model.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for managing Product entities.
- * Inherits standard CRUD operations from JpaRepository.
+ * Inherits standard CRUD operations from JpaRepository and filtered
+ * DTO queries from ProductFilterRepository.
  */
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductFilterRepository {
+
+    /** Projection of the product columns into a ProductDTO; category and supplier IDs come from the foreign keys */
+    String PRODUCT_DTO_SELECT = "SELECT new com.bojan.inventorymanagement.dto.ProductDTO(p.id, p.name, p.description, p.price, p.quantity, p.unit, p.reorderThreshold, p.category.id, p.supplier.id, p.version) FROM Product p";
+
+    /**
+     * Keyset page ordered by name, with the ID as tie breaker so the order is stable.
+     * Served by the (name, id) index on the product table.
+     *
+     * @param name the name of the last product of the previous page
+     * @param id the ID of the last product of the previous page
+     * @param limit the maximum number of products to return
+     * @return products positioned after the given (name, id) pair, in (name, id) order
+     */
+    @Query(PRODUCT_DTO_SELECT + " WHERE p.name > :name OR (p.name = :name AND p.id > :id) ORDER BY p.name, p.id")
+    List<ProductDTO> findDtosAfterName(@Param("name") String name, @Param("id") Long id, Limit limit);
+
+    /**
+     * First keyset page ordered by name, with the ID as tie breaker.
+     *
+     * @param limit the maximum number of products to return
+     * @return the first products in (name, id) order
+     */
+    @Query(PRODUCT_DTO_SELECT + " ORDER BY p.name, p.id")
+    List<ProductDTO> findDtosOrderByName(Limit limit);
+
+    /**
+     * Loads only the row version of a product, e.g. to answer a conditional request.
+     *
+     * @param id the ID of the product
+     * @return the row version, if the product exists
+     */
+    @Query("SELECT p.version FROM Product p WHERE p.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * Loads a single product as a DTO, without hydrating the entity.
+     *
+     * @param id the ID of the product
+     * @return the product DTO, if found
+     */
+    @Query(PRODUCT_DTO_SELECT + " WHERE p.id = :id")
+    Optional<ProductDTO> findDtoById(@Param("id") Long id);
+
+    /**
+     * Loads products with the given IDs as DTOs, without hydrating the entities.
+     * The result is in no particular order.
+     *
+     * @param ids the IDs of the products
+     * @return the product DTOs that were found
+     */
+    @Query(PRODUCT_DTO_SELECT + " WHERE p.id IN :ids")
+    List<ProductDTO> findDtosByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Ranked full-text and fuzzy search over product name and description.
+     * Matches either the full-text vector (GIN index on search_vector) or names that are
+     * similar to the query by trigrams (GIN trigram index on name), which tolerates typos.
+     * Both columns and indexes are created by schema-postgresql.sql.
+     *
+     * @param query the search text, as typed by the user
+     * @param limit the maximum number of IDs to return
+     * @param offset the number of best matches to skip
+     * @return the IDs of the matching products, best match first
+     */
+    @Query(value = """
+            SELECT p.id
+            FROM product p, websearch_to_tsquery('english', :query) q
+            WHERE p.search_vector @@ q OR p.name % :query
+            ORDER BY ts_rank(p.search_vector, q) + similarity(p.name, :query) DESC, p.id
+            LIMIT :limit OFFSET :offset
+            """, nativeQuery = true)
+    List<Long> searchIds(@Param("query") String query, @Param("limit") int limit, @Param("offset") int offset);
+
+    /**
+     * Streams all products in ID order through a forward-only database cursor.
+     * Rows are fetched from the database in chunks of the configured fetch size and are
+     * loaded read-only, so no dirty checking snapshots are kept for them.
+     * Must be consumed inside a transaction and closed after use.
+     *
+     * @return a stream over all products
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT p FROM Product p ORDER BY p.id")
+    Stream<Product> streamAll();
+
+    /**
+     * Computes the change of stock value caused by a stock adjustment of a product, from its current price.
+     *
+     * @param id the ID of the product
+     * @param delta the adjustment that was applied
+     * @return the valuation delta, if the product exists
+     */
+    @Query("SELECT new com.bojan.inventorymanagement.event.ValuationDelta(p.category.id, p.supplier.id, p.price * CAST(:delta AS Long), CAST(:delta AS Long), 0L) "
+            + "FROM Product p WHERE p.id = :id")
+    Optional<ValuationDelta> findValuationDelta(@Param("id") Long id, @Param("delta") long delta);
+
+    /**
+     * Atomically adds a signed delta to a product's quantity, unless the result would be negative.
+     * Runs as a single conditional UPDATE, so concurrent adjustments never overwrite each other
+     * and no row is read or locked before the write. The row version is bumped like on any other update.
+     * The product table is declared as query space, so Hibernate stamps it in the update timestamps
+     * and cached queries and the product list version see the change.
+     *
+     * @param id the ID of the product
+     * @param delta the amount to add, negative to remove stock
+     * @return 1 if the quantity was changed, 0 if the product does not exist or lacks stock
+     */
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "product"))
+    @Query(value = "UPDATE product SET quantity = quantity + :delta, version = version + 1 WHERE id = :id AND quantity + :delta >= 0",
+            nativeQuery = true)
+    int adjustQuantity(@Param("id") Long id, @Param("delta") int delta);
+
+    /**
+     * Loads only the quantity of a product, e.g. to read back the result of {@link #adjustQuantity}.
+     *
+     * @param id the ID of the product
+     * @return the quantity, if the product exists
+     */
+    @Query("SELECT p.quantity FROM Product p WHERE p.id = :id")
+    Optional<Integer> findQuantityById(@Param("id") Long id);
+
+    /**
+     * Sums up the contribution of the given products to the valuation, per category and supplier.
+     *
+     * @param ids the IDs of the products
+     * @return one delta per category and supplier adding the products' stock value, quantity and count
+     */
+    @Query("SELECT new com.bojan.inventorymanagement.event.ValuationDelta(p.category.id, p.supplier.id, SUM(p.price * p.quantity), SUM(p.quantity), COUNT(p)) "
+            + "FROM Product p WHERE p.id IN :ids GROUP BY p.category.id, p.supplier.id")
+    List<ValuationDelta> findValuationTotals(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Books the remaining stock of the given products out of the stock ledger, before they are deleted.
+     *
+     * @param ids the IDs of the products
+     * @param reason the reason to record
+     * @param now the time of the movements
+     * @return the number of movements recorded
+     */
+    @Modifying
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stock_movement"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "product")
+    })
+    @Query(value = """
+            INSERT INTO stock_movement (id, product_id, type, quantity_change, reason, occurred_at)
+            SELECT nextval('stock_movement_seq'), p.id, 'ADJUSTMENT', -p.quantity, :reason, :now
+            FROM product p
+            WHERE p.id IN (:ids) AND p.quantity <> 0
+            """, nativeQuery = true)
+    int recordRemovals(@Param("ids") Collection<Long> ids, @Param("reason") String reason, @Param("now") Instant now);
+
+    /**
+     * Deletes the given products with a single statement, without loading them first.
+     *
+     * @param ids the IDs of the products
+     * @return the number of products deleted
+     */
+    @Modifying
+    @Query("DELETE FROM Product p WHERE p.id IN :ids")
+    int deleteAllByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Multiplies the prices of the given products by a factor with a single statement and bumps their version.
+     * The product {@code y = price * factor * unit} is rounded to a whole number as
+     * {@code sign * floor(sign * y + offset)}: sign 1 and offset 0 round down, sign -1 and offset 0 round up,
+     * and an offset of 0.5 rounds half up (sign 1) or half down (sign -1). Dividing by {@code unit}
+     * (10 to the power of the scale) gives the new price, which is kept at or above {@code minimum}.
+     *
+     * @param ids the IDs of the products
+     * @param factor the factor to apply, e.g. 1.05 for a 5 % increase
+     * @param unit 10 to the power of the number of decimal places to keep
+     * @param sign 1 or -1, see above
+     * @param offset 0 or 0.5, see above
+     * @param minimum the lowest price to set
+     * @return the number of products updated
+     */
+    @Modifying
+    @Query("""
+            UPDATE Product p
+            SET p.price = greatest(:sign * floor(:sign * p.price * :factor * :unit + :offset) / :unit, :minimum),
+                p.version = p.version + 1
+            WHERE p.id IN :ids
+            """)
+    int adjustPrices(@Param("ids") Collection<Long> ids, @Param("factor") BigDecimal factor, @Param("unit") BigDecimal unit,
+                     @Param("sign") BigDecimal sign, @Param("offset") BigDecimal offset, @Param("minimum") BigDecimal minimum);
+
 }
@@ -0,0 +1,59 @@
+package com.bojan.inventorymanagement.repository;
+
+import com.bojan.inventorymanagement.dto.ProductFilterDTO;
+import com.bojan.inventorymanagement.model.Product;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Factory for JPA Specifications used to filter products.
+ * Every supported criterion is backed by an index on the product table (see {@link Product}).
+ */
+public class ProductSpecifications {
+
+    /**
+     * Builds a specification matching all criteria set in the filter.
+     *
+     * @param filter the filter criteria, unset criteria are ignored
+     * @return the specification combining the criteria with AND
+     */
+    public static Specification<Product> matching(ProductFilterDTO filter) {
+        return (product, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.getCategoryId() != null) {
+                predicates.add(cb.equal(product.get("category").get("id"), filter.getCategoryId()));
+            }
+            if (filter.getSupplierId() != null) {
+                predicates.add(cb.equal(product.get("supplier").get("id"), filter.getSupplierId()));
+            }
+            if (filter.getMinPrice() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(product.get("price"), filter.getMinPrice()));
+            }
+            if (filter.getMaxPrice() != null) {
+                predicates.add(cb.lessThanOrEqualTo(product.get("price"), filter.getMaxPrice()));
+            }
+            if (filter.getQuantityBelow() != null) {
+                predicates.add(cb.lessThan(product.get("quantity"), filter.getQuantityBelow()));
+            }
+            if (filter.getUnit() != null && !filter.getUnit().isBlank()) {
+                predicates.add(cb.equal(product.get("unit"), filter.getUnit()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Builds a specification matching the products with the given IDs.
+     *
+     * @param ids the IDs of the products
+     * @return the specification
+     */
+    public static Specification<Product> withIds(Collection<Long> ids) {
+        return (product, query, cb) -> product.get("id").in(ids);
+    }
+
+}
@@ -0,0 +1,117 @@
+package com.bojan.inventorymanagement.repository;
+
+import com.bojan.inventorymanagement.dto.StockAlertDTO;
+import com.bojan.inventorymanagement.model.StockAlert;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for managing StockAlert entities.
+ * The open/resolve statements evaluate the thresholds inside the database, so only the
+ * products that changed are looked at and concurrent writers never create duplicate alerts.
+ * They declare the tables they read and write as query spaces: Hibernate then flushes only the pending
+ * changes of those tables before running them, and afterwards evicts only those tables' second-level cache
+ * regions instead of the whole cache.
+ */
+public interface StockAlertRepository extends JpaRepository<StockAlert, Long> {
+
+    /** Products whose quantity is below their own reorder threshold, or their category's if they have none */
+    String BELOW_THRESHOLD = """
+            FROM product p
+            LEFT JOIN category c ON c.id = p.category_id
+            WHERE p.quantity < COALESCE(p.reorder_threshold, c.reorder_threshold)
+            """;
+
+    /**
+     * Opens an alert for every given product that is below its reorder threshold and has none yet.
+     *
+     * @param ids the IDs of the products to check
+     * @param now the time to record as the moment the threshold was crossed
+     * @return the number of alerts opened
+     */
+    @Modifying
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stock_alert"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "product")
+    })
+    @Query(value = "INSERT INTO stock_alert (product_id, triggered_at) SELECT p.id, :now " + BELOW_THRESHOLD + " AND p.id IN (:ids) "
+            + "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int openForProducts(@Param("ids") Collection<Long> ids, @Param("now") Instant now);
+
+    /**
+     * Removes the alerts of the given products that are no longer below their threshold, or no longer exist.
+     *
+     * @param ids the IDs of the products to check
+     * @return the number of alerts resolved
+     */
+    @Modifying
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stock_alert"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "product")
+    })
+    @Query(value = "DELETE FROM stock_alert WHERE product_id IN (:ids) AND product_id NOT IN (SELECT p.id " + BELOW_THRESHOLD + " AND p.id IN (:ids))",
+            nativeQuery = true)
+    int resolveForProducts(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Opens an alert for every product of the category that is below its reorder threshold and has none yet.
+     *
+     * @param categoryId the ID of the category
+     * @param now the time to record as the moment the threshold was crossed
+     * @return the number of alerts opened
+     */
+    @Modifying
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stock_alert"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "product"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "category")
+    })
+    @Query(value = "INSERT INTO stock_alert (product_id, triggered_at) SELECT p.id, :now " + BELOW_THRESHOLD + " AND p.category_id = :categoryId "
+            + "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int openForCategory(@Param("categoryId") Long categoryId, @Param("now") Instant now);
+
+    /**
+     * Removes the alerts of the category's products that are no longer below their threshold.
+     *
+     * @param categoryId the ID of the category
+     * @return the number of alerts resolved
+     */
+    @Modifying
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stock_alert"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "product"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "category")
+    })
+    @Query(value = "DELETE FROM stock_alert WHERE product_id IN (SELECT p.id FROM product p WHERE p.category_id = :categoryId) "
+            + "AND product_id NOT IN (SELECT p.id " + BELOW_THRESHOLD + " AND p.category_id = :categoryId)", nativeQuery = true)
+    int resolveForCategory(@Param("categoryId") Long categoryId);
+
+    /**
+     * Keyset page of active alerts ordered by product ID, with the product's current quantity and threshold.
+     *
+     * @param id the product ID of the last alert of the previous page
+     * @param limit the maximum number of alerts to return
+     * @return alerts with a product ID greater than the given one, in product ID order
+     */
+    @Query("""
+            SELECT new com.bojan.inventorymanagement.dto.StockAlertDTO(a.productId, p.name, p.quantity,
+                COALESCE(p.reorderThreshold, c.reorderThreshold), a.triggeredAt)
+            FROM StockAlert a
+            JOIN Product p ON p.id = a.productId
+            LEFT JOIN p.category c
+            WHERE a.productId > :id
+            ORDER BY a.productId
+            """)
+    List<StockAlertDTO> findDtosAfterProductId(@Param("id") Long id, Limit limit);
+
+}
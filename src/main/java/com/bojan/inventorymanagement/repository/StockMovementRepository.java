@@ -0,0 +1,58 @@
+package com.bojan.inventorymanagement.repository;
+
+import com.bojan.inventorymanagement.dto.StockMovementDTO;
+import com.bojan.inventorymanagement.model.StockMovement;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository interface for the append-only stock ledger.
+ * Every query is bounded by {@code occurred_at} where possible, so PostgreSQL only
+ * visits the partitions of the requested time range.
+ */
+public interface StockMovementRepository extends JpaRepository<StockMovement, Long> {
+
+    /** Projection of the movement columns into a StockMovementDTO */
+    String STOCK_MOVEMENT_DTO_SELECT = "SELECT new com.bojan.inventorymanagement.dto.StockMovementDTO(m.id, m.productId, m.type, m.quantityChange, m.reason, m.occurredAt) FROM StockMovement m";
+
+    /**
+     * First keyset page of a product's movements, newest first.
+     *
+     * @param productId the ID of the product
+     * @param limit the maximum number of movements to return
+     * @return the latest movements of the product
+     */
+    @Query(STOCK_MOVEMENT_DTO_SELECT + " WHERE m.productId = :productId ORDER BY m.occurredAt DESC, m.id DESC")
+    List<StockMovementDTO> findDtosByProductId(@Param("productId") Long productId, Limit limit);
+
+    /**
+     * Keyset page of a product's movements, newest first, with the ID as tie breaker.
+     *
+     * @param productId the ID of the product
+     * @param occurredAt the time of the last movement of the previous page
+     * @param id the ID of the last movement of the previous page
+     * @param limit the maximum number of movements to return
+     * @return movements positioned before the given (occurredAt, id) pair, newest first
+     */
+    @Query(STOCK_MOVEMENT_DTO_SELECT + " WHERE m.productId = :productId AND (m.occurredAt < :occurredAt OR (m.occurredAt = :occurredAt AND m.id < :id))"
+            + " ORDER BY m.occurredAt DESC, m.id DESC")
+    List<StockMovementDTO> findDtosByProductIdBefore(@Param("productId") Long productId, @Param("occurredAt") Instant occurredAt,
+                                                     @Param("id") Long id, Limit limit);
+
+    /**
+     * Sums the quantity changes of a product within a time range.
+     *
+     * @param productId the ID of the product
+     * @param from the exclusive start of the range
+     * @param to the inclusive end of the range
+     * @return the net change of the quantity, 0 if there were no movements
+     */
+    @Query("SELECT COALESCE(SUM(m.quantityChange), 0) FROM StockMovement m WHERE m.productId = :productId AND m.occurredAt > :from AND m.occurredAt <= :to")
+    long sumChanges(@Param("productId") Long productId, @Param("from") Instant from, @Param("to") Instant to);
+
+}
@@ -0,0 +1,83 @@
+package com.bojan.inventorymanagement.repository;
+
+import com.bojan.inventorymanagement.model.StockSnapshot;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Repository interface for managing StockSnapshot entities.
+ */
+public interface StockSnapshotRepository extends JpaRepository<StockSnapshot, StockSnapshot.Key> {
+
+    /**
+     * Loads the latest snapshot of a product taken at or before the given time.
+     * Served by the (product_id, taken_at) primary key.
+     *
+     * @param productId the ID of the product
+     * @param at the point in time
+     * @return the snapshot, if the product has one that old
+     */
+    Optional<StockSnapshot> findFirstByProductIdAndTakenAtLessThanEqualOrderByTakenAtDesc(Long productId, Instant at);
+
+    /**
+     * Loads the time of the latest snapshot run.
+     *
+     * @return the time the latest snapshots were taken at, if any
+     */
+    @Query("SELECT MAX(s.takenAt) FROM StockSnapshot s")
+    Optional<Instant> findLatestTakenAt();
+
+    /**
+     * Adds pending movements that committed after the snapshot run that should have included them
+     * to every snapshot of their product taken at or after their time.
+     *
+     * @return the number of snapshots corrected
+     */
+    @Modifying
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stock_snapshot"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "pending_snapshot_movement")
+    })
+    @Query(value = """
+            UPDATE stock_snapshot s
+            SET quantity = s.quantity + (SELECT SUM(q.quantity_change) FROM pending_snapshot_movement q
+                                         WHERE q.product_id = s.product_id AND q.occurred_at <= s.taken_at)
+            WHERE s.product_id IN (SELECT q.product_id FROM pending_snapshot_movement q)
+              AND s.taken_at >= (SELECT MIN(q.occurred_at) FROM pending_snapshot_movement q WHERE q.product_id = s.product_id)
+            """, nativeQuery = true)
+    int applyLateMovements();
+
+    /**
+     * Takes a snapshot at {@code cutoff} of every product with pending movements after its latest
+     * snapshot, as that snapshot plus the movements. Products without such movements keep their
+     * previous snapshot. Only the pending movements are read, not the ledger.
+     *
+     * @param cutoff the time of this run, inclusive
+     * @return the number of snapshots taken
+     */
+    @Modifying
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stock_snapshot"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "pending_snapshot_movement")
+    })
+    @Query(value = """
+            INSERT INTO stock_snapshot (product_id, taken_at, quantity)
+            SELECT q.product_id, :cutoff,
+                   COALESCE((SELECT s.quantity FROM stock_snapshot s WHERE s.product_id = q.product_id
+                             ORDER BY s.taken_at DESC LIMIT 1), 0) + SUM(q.quantity_change)
+            FROM pending_snapshot_movement q
+            WHERE q.occurred_at <= :cutoff
+              AND NOT EXISTS (SELECT 1 FROM stock_snapshot s WHERE s.product_id = q.product_id AND s.taken_at >= q.occurred_at)
+            GROUP BY q.product_id
+            """, nativeQuery = true)
+    int takeSnapshots(@Param("cutoff") Instant cutoff);
+
+}
@@ -1,11 +1,94 @@
 package com.bojan.inventorymanagement.repository;
 
+import com.bojan.inventorymanagement.dto.SupplierDTO;
 import com.bojan.inventorymanagement.model.Supplier;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for managing Supplier entities.
  * Inherits standard CRUD operations from JpaRepository.
  */
 public interface SupplierRepository extends JpaRepository<Supplier, Long> {
+
+    /** Projection of the supplier columns into a SupplierDTO */
+    String SUPPLIER_DTO_SELECT = "SELECT new com.bojan.inventorymanagement.dto.SupplierDTO(s.id, s.name, s.contactName, s.email, s.phone, s.address, s.version) FROM Supplier s";
+
+    /**
+     * Keyset page ordered by ID, served by the primary key index.
+     * Selects straight into DTOs, so no entities are hydrated or tracked.
+     *
+     * @param id the ID of the last supplier of the previous page
+     * @param limit the maximum number of suppliers to return
+     * @return suppliers with an ID greater than the given one, in ID order
+     */
+    @Query(SUPPLIER_DTO_SELECT + " WHERE s.id > :id ORDER BY s.id")
+    List<SupplierDTO> findDtosAfterId(@Param("id") Long id, Limit limit);
+
+    /**
+     * Loads only the row version of a supplier, e.g. to answer a conditional request.
+     *
+     * @param id the ID of the supplier
+     * @return the row version, if the supplier exists
+     */
+    @Query("SELECT s.version FROM Supplier s WHERE s.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * Loads a single supplier as a DTO, without hydrating the entity.
+     *
+     * @param id the ID of the supplier
+     * @return the supplier DTO, if found
+     */
+    @Query(SUPPLIER_DTO_SELECT + " WHERE s.id = :id")
+    Optional<SupplierDTO> findDtoById(@Param("id") Long id);
+
+    /**
+     * Loads all suppliers. The result is kept in Hibernate's query cache and the suppliers themselves in the
+     * second-level cache, until a supplier is written.
+     * Call it on the primary database (see {@link com.bojan.inventorymanagement.config.ReadYourWrites#readFromPrimary}):
+     * a result read from a lagging replica would be cached as current.
+     *
+     * @return all suppliers
+     */
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Supplier> findAll();
+
+    /**
+     * Looks up suppliers by name in a single query, e.g. to resolve the references of an import.
+     *
+     * @param names the names to look up
+     * @return the matching suppliers, in ID order
+     */
+    List<Supplier> findByNameInOrderById(Collection<String> names);
+
+    /**
+     * Counts the suppliers with the given IDs, e.g. for the dry run of a bulk delete.
+     *
+     * @param ids the IDs to look up
+     * @return the number of suppliers that exist
+     */
+    long countByIdIn(Collection<Long> ids);
+
+    /**
+     * Deletes the given suppliers with a single statement, without loading them first.
+     *
+     * @param ids the IDs of the suppliers
+     * @return the number of suppliers deleted
+     */
+    @Modifying
+    @Query("DELETE FROM Supplier s WHERE s.id IN :ids")
+    int deleteAllByIds(@Param("ids") Collection<Long> ids);
+
 }
@@ -1,16 +1,25 @@
 package com.bojan.inventorymanagement.service;
 
+import com.bojan.inventorymanagement.dto.BulkOperationResultDTO;
+import com.bojan.inventorymanagement.dto.CategoryDTO;
 import com.bojan.inventorymanagement.model.Category;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface CategoryService {
 
     Category saveCategory(Category category);
+    List<Category> saveCategories(List<Category> categories);
     List<Category> getAllCategories();
+    List<CategoryDTO> getCategoriesAfterId(long afterId, int limit);
     Optional<Category> getCategoryById(Long id);
+    Optional<CategoryDTO> getCategoryDtoById(Long id);
+    Optional<Long> getCategoryVersion(Long id);
+    List<Category> getCategoriesByIds(Collection<Long> ids);
     void deleteCategory(Long id);
-    Category updateCategory(Long id, Category category);
+    BulkOperationResultDTO deleteCategories(Collection<Long> ids, boolean dryRun);
+    Category updateCategory(Long id, Category category, Long expectedVersion);
 
 }
@@ -0,0 +1,15 @@
+package com.bojan.inventorymanagement.service;
+
+import com.bojan.inventorymanagement.dto.ValuationReportDTO;
+
+/**
+ * Service interface for the inventory valuation aggregates.
+ * The aggregates are maintained from product change events; this interface exposes
+ * the report and the reconciliation against the product table.
+ */
+public interface InventoryValuationService {
+
+    ValuationReportDTO getValuationReport();
+    int reconcile();
+
+}
@@ -0,0 +1,15 @@
+package com.bojan.inventorymanagement.service;
+
+import com.bojan.inventorymanagement.dto.BulkDeleteDTO;
+import com.bojan.inventorymanagement.dto.BulkOperationResultDTO;
+import com.bojan.inventorymanagement.dto.BulkPriceUpdateDTO;
+
+/**
+ * Service interface for set-based bulk changes of many products.
+ */
+public interface ProductBulkService {
+
+    BulkOperationResultDTO deleteProducts(BulkDeleteDTO request);
+    BulkOperationResultDTO adjustPrices(BulkPriceUpdateDTO request);
+
+}
@@ -0,0 +1,15 @@
+package com.bojan.inventorymanagement.service;
+
+import com.bojan.inventorymanagement.dto.ImportProgressDTO;
+
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+/**
+ * Service interface for bulk product imports from CSV files.
+ */
+public interface ProductImportService {
+
+    ImportProgressDTO importProducts(InputStream csv, String source, Consumer<ImportProgressDTO> progress);
+
+}
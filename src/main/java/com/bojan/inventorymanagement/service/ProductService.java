@@ -1,16 +1,35 @@
 package com.bojan.inventorymanagement.service;
 
+import com.bojan.inventorymanagement.dto.ProductDTO;
+import com.bojan.inventorymanagement.dto.ProductExportDTO;
+import com.bojan.inventorymanagement.dto.ProductFilterDTO;
+import com.bojan.inventorymanagement.model.MovementType;
 import com.bojan.inventorymanagement.model.Product;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface ProductService {
 
     Product saveProduct(Product product);
-    List<Product> getAllProducts();
+    List<Product> saveProducts(List<Product> products);
+    List<ProductDTO> getProductsAfterId(ProductFilterDTO filter, long afterId, int limit);
+    List<ProductExportDTO> getExportRowsAfterId(ProductFilterDTO filter, long afterId, int limit);
+    Page<ProductExportDTO> getProductListPage(ProductFilterDTO filter, Pageable pageable);
+    Optional<String> getProductListVersion();
+    List<ProductDTO> getProductsAfterName(String afterName, long afterId, int limit);
     Optional<Product> getProductById(Long id);
+    Optional<ProductDTO> getProductDtoById(Long id);
+    Optional<Long> getProductVersion(Long id);
+    Optional<Product> getProductWithReferencesById(Long id);
+    void exportProducts(Consumer<Product> consumer);
+    List<ProductDTO> searchProducts(String query, int offset, int limit);
+    List<Product> searchProductsWithReferences(String query, int limit);
     void deleteProduct(Long id);
-    Product updateProduct(Long id, Product product);
+    Product updateProduct(Long id, Product product, Long expectedVersion);
+    int adjustStock(Long id, int delta, MovementType type, String reason);
 
 }
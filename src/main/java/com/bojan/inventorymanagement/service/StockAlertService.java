@@ -0,0 +1,15 @@
+package com.bojan.inventorymanagement.service;
+
+import com.bojan.inventorymanagement.dto.StockAlertDTO;
+
+import java.util.List;
+
+/**
+ * Service interface for low-stock alerts.
+ * Alerts are maintained from stock change events; this interface only exposes the reads.
+ */
+public interface StockAlertService {
+
+    List<StockAlertDTO> getActiveAlertsAfterProductId(long afterProductId, int limit);
+
+}
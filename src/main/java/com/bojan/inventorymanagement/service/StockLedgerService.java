@@ -0,0 +1,19 @@
+package com.bojan.inventorymanagement.service;
+
+import com.bojan.inventorymanagement.dto.StockMovementDTO;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Service interface for the stock ledger.
+ * Movements are recorded from stock change events; this interface exposes the history,
+ * as-of quantities and the snapshotting.
+ */
+public interface StockLedgerService {
+
+    List<StockMovementDTO> getMovements(Long productId, Instant beforeOccurredAt, long beforeId, int limit);
+    int getQuantityAsOf(Long productId, Instant asOf);
+    int takeSnapshots();
+
+}
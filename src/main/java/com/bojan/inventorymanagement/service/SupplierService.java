@@ -1,16 +1,25 @@
 package com.bojan.inventorymanagement.service;
 
+import com.bojan.inventorymanagement.dto.BulkOperationResultDTO;
+import com.bojan.inventorymanagement.dto.SupplierDTO;
 import com.bojan.inventorymanagement.model.Supplier;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface SupplierService {
 
     Supplier saveSupplier(Supplier supplier);
+    List<Supplier> saveSuppliers(List<Supplier> suppliers);
     List<Supplier> getAllSuppliers();
+    List<SupplierDTO> getSuppliersAfterId(long afterId, int limit);
     Optional<Supplier> getSupplierById(Long id);
+    Optional<SupplierDTO> getSupplierDtoById(Long id);
+    Optional<Long> getSupplierVersion(Long id);
+    List<Supplier> getSuppliersByIds(Collection<Long> ids);
     void deleteSupplier(Long id);
-    Supplier updateSupplier(Long id, Supplier supplier);
+    BulkOperationResultDTO deleteSuppliers(Collection<Long> ids, boolean dryRun);
+    Supplier updateSupplier(Long id, Supplier supplier, Long expectedVersion);
 
 }
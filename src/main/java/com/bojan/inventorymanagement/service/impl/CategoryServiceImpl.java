@@ -1,12 +1,29 @@
 package com.bojan.inventorymanagement.service.impl;
 
+import com.bojan.inventorymanagement.config.CacheConfig;
+import com.bojan.inventorymanagement.config.MetricsConfig;
+import com.bojan.inventorymanagement.config.ReadYourWrites;
+import com.bojan.inventorymanagement.dto.BulkOperationResultDTO;
+import com.bojan.inventorymanagement.dto.CategoryDTO;
+import com.bojan.inventorymanagement.event.ReorderThresholdChangedEvent;
 import com.bojan.inventorymanagement.model.Category;
 import com.bojan.inventorymanagement.repository.CategoryRepository;
 import com.bojan.inventorymanagement.service.CategoryService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -14,68 +31,185 @@ import java.util.Optional;
  * Handles business logic and data access operations for Category entities.
  */
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 public class CategoryServiceImpl implements CategoryService {
 
     // Injected repository for handling business logic
     private final CategoryRepository categoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Saves a new category or updates an existing one.
+     * The saved category is put into the cache and the cached category list is dropped.
      *
      * @param category the category to save
      * @return the saved category instance
      */
     @Override
+    @Caching(put = @CachePut(cacheNames = CacheConfig.CATEGORIES, key = "#result.id"),
+            evict = @CacheEvict(cacheNames = CacheConfig.CATEGORY_LISTS, allEntries = true))
     public Category saveCategory(Category category) {
         return categoryRepository.save(category);
     }
 
+    /**
+     * Saves a list of new categories in a single transaction.
+     * IDs come from a pooled sequence, so Hibernate sends the inserts in JDBC batches.
+     * The cached category list is dropped.
+     *
+     * @param categories the categories to save
+     * @return the saved category instances
+     */
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.CATEGORY_LISTS, allEntries = true)
+    @Transactional
+    public List<Category> saveCategories(List<Category> categories) {
+        return categoryRepository.saveAll(categories);
+    }
+
     /**
      * Retrieves a list of all categories from the database.
+     * Served from the cache after the first call, until a category changes or the entry expires.
+     * The cache is filled from the primary database, never from a replica that may lag behind.
      *
      * @return list of all categories
      */
     @Override
+    @Cacheable(cacheNames = CacheConfig.CATEGORY_LISTS, key = "'all'")
     public List<Category> getAllCategories() {
-        return categoryRepository.findAll();
+        return ReadYourWrites.readFromPrimary(categoryRepository::findAll);
+    }
+
+    /**
+     * Retrieves one keyset page of categories ordered by ID.
+     * Rows are projected straight into DTOs in a read-only transaction.
+     *
+     * @param afterId the ID of the last category of the previous page, 0 for the first page
+     * @param limit the maximum number of categories to return
+     * @return categories with an ID greater than {@code afterId}, in ID order
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<CategoryDTO> getCategoriesAfterId(long afterId, int limit) {
+        return categoryRepository.findDtosAfterId(afterId, Limit.of(limit));
     }
 
     /**
      * Retrieves a single category by its ID.
+     * Served from the cache after the first lookup, which reads the primary database; IDs that do not exist are not cached.
      *
      * @param id the ID of the category
      * @return Optional containing the category if found, empty otherwise
      */
     @Override
+    @Cacheable(cacheNames = CacheConfig.CATEGORIES, key = "#id", unless = "#result == null")
     public Optional<Category> getCategoryById(Long id) {
-        return categoryRepository.findById(id);
+        return ReadYourWrites.readFromPrimary(() -> categoryRepository.findById(id));
+    }
+
+    /**
+     * Retrieves a single category by its ID as a DTO, without hydrating the entity.
+     *
+     * @param id the ID of the category
+     * @return Optional containing the category DTO if found, empty otherwise
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<CategoryDTO> getCategoryDtoById(Long id) {
+        return categoryRepository.findDtoById(id);
+    }
+
+    /**
+     * Retrieves only the row version of a category, without loading the row itself.
+     *
+     * @param id the ID of the category
+     * @return Optional containing the version if the category exists, empty otherwise
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Long> getCategoryVersion(Long id) {
+        return categoryRepository.findVersionById(id);
+    }
+
+    /**
+     * Retrieves all categories with the given IDs using a single query.
+     * IDs that do not exist are silently skipped.
+     *
+     * @param ids the IDs of the categories
+     * @return the categories that were found
+     */
+    @Override
+    public List<Category> getCategoriesByIds(Collection<Long> ids) {
+        return categoryRepository.findAllById(ids);
     }
 
     /**
      * Deletes a category by its ID.
+     * The category is removed from the cache and the cached category list is dropped.
      *
      * @param id the ID of the category to delete
      */
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CATEGORIES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.CATEGORY_LISTS, allEntries = true)
+    })
     public void deleteCategory(Long id) {
         categoryRepository.deleteById(id);
     }
 
+    /**
+     * Deletes the categories with the given IDs with a single statement, without loading them first.
+     * Unless it is a dry run, both category caches are dropped. IDs that do not exist are skipped.
+     *
+     * @param ids the IDs of the categories to delete
+     * @param dryRun true to only count the categories that would be deleted
+     * @return the number of categories deleted, or that would be deleted
+     */
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CATEGORIES, allEntries = true, condition = "!#dryRun"),
+            @CacheEvict(cacheNames = CacheConfig.CATEGORY_LISTS, allEntries = true, condition = "!#dryRun")
+    })
+    @Transactional
+    public BulkOperationResultDTO deleteCategories(Collection<Long> ids, boolean dryRun) {
+        if (dryRun) {
+            return new BulkOperationResultDTO(true, categoryRepository.countByIdIn(ids), 0);
+        }
+        return new BulkOperationResultDTO(false, categoryRepository.deleteAllByIds(ids), 1);
+    }
+
     /**
      * Updates an existing category with new data.
+     * The updated category replaces the cached one and the cached category list is dropped.
+     * Changing the reorder threshold re-evaluates the low-stock alerts of the category's products.
      *
      * @param id the ID of the category to update
      * @param updatedCategory the new category data
+     * @param expectedVersion the version the client based its changes on, or null to skip the check
      * @return the updated category entity
+     * @throws ObjectOptimisticLockingFailureException if the category was modified in the meantime
      * @throws RuntimeException if the category with the given ID does not exist
      */
     @Override
-    public Category updateCategory(Long id, Category updatedCategory) {
+    @Caching(put = @CachePut(cacheNames = CacheConfig.CATEGORIES, key = "#id"),
+            evict = @CacheEvict(cacheNames = CacheConfig.CATEGORY_LISTS, allEntries = true))
+    @Transactional
+    public Category updateCategory(Long id, Category updatedCategory, Long expectedVersion) {
         return categoryRepository.findById(id).map(category -> {
+            if (expectedVersion != null && expectedVersion != category.getVersion()) {
+                throw new ObjectOptimisticLockingFailureException(Category.class, id);
+            }
             category.setName(updatedCategory.getName());
             category.setDescription(updatedCategory.getDescription());
-            return categoryRepository.save(category);
+            boolean thresholdChanged = !Objects.equals(category.getReorderThreshold(), updatedCategory.getReorderThreshold());
+            category.setReorderThreshold(updatedCategory.getReorderThreshold());
+            Category saved = categoryRepository.save(category);
+            if (thresholdChanged) {
+                eventPublisher.publishEvent(new ReorderThresholdChangedEvent(id));
+            }
+            return saved;
         }).orElseThrow(() -> new RuntimeException("Category not found"));
     }
 
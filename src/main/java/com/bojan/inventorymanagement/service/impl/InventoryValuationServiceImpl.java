@@ -0,0 +1,156 @@
+package com.bojan.inventorymanagement.service.impl;
+
+import com.bojan.inventorymanagement.config.MetricsConfig;
+import com.bojan.inventorymanagement.dto.ValuationDTO;
+import com.bojan.inventorymanagement.dto.ValuationReportDTO;
+import com.bojan.inventorymanagement.event.InventoryValueChangedEvent;
+import com.bojan.inventorymanagement.event.ValuationDelta;
+import com.bojan.inventorymanagement.model.InventoryValuation;
+import com.bojan.inventorymanagement.model.ValuationScope;
+import com.bojan.inventorymanagement.repository.InventoryValuationRepository;
+import com.bojan.inventorymanagement.service.InventoryValuationService;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the InventoryValuationService interface.
+ * Keeps one aggregate row per category and per supplier, updated with the deltas of every
+ * product write in the same transaction. The overall total is the sum of the category rows,
+ * so there is no single row that every write would have to lock.
+ */
+@Slf4j
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+@RequiredArgsConstructor
+public class InventoryValuationServiceImpl implements InventoryValuationService {
+
+    /** Scope ID used for products without a category or supplier */
+    private static final long UNASSIGNED = 0L;
+
+    // Rows are always updated in this order, so concurrent writers cannot deadlock on them
+    private static final Comparator<InventoryValuation.Key> KEY_ORDER = Comparator
+            .comparing(InventoryValuation.Key::getScope)
+            .thenComparing(InventoryValuation.Key::getScopeId);
+
+    // Injected repository for handling business logic
+    private final InventoryValuationRepository valuationRepository;
+
+    /**
+     * Builds the valuation report from the aggregate rows.
+     * Reads one row per category and supplier, independent of the number of products.
+     *
+     * @return the stock value overall, by category and by supplier
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ValuationReportDTO getValuationReport() {
+        List<ValuationDTO> byCategory = valuationRepository.findCategoryDtos();
+        List<ValuationDTO> bySupplier = valuationRepository.findSupplierDtos();
+        ValuationDTO total = new ValuationDTO(null, "Total",
+                byCategory.stream().map(ValuationDTO::getValue).reduce(BigDecimal.ZERO, BigDecimal::add),
+                byCategory.stream().mapToLong(ValuationDTO::getQuantity).sum(),
+                byCategory.stream().mapToLong(ValuationDTO::getProductCount).sum());
+        return new ValuationReportDTO(total, byCategory, bySupplier);
+    }
+
+    /**
+     * Verifies the aggregates against a full scan of the product table and repairs rows that differ.
+     * Runs in a repeatable read transaction, so the scan and the aggregates are read from the same snapshot;
+     * a repair that races with a concurrent product write fails and is retried on the next run.
+     *
+     * @return the number of aggregate rows that had to be repaired
+     */
+    @Override
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    public int reconcile() {
+        Map<InventoryValuation.Key, InventoryValuation> stored = valuationRepository.findAll().stream()
+                .collect(Collectors.toMap(InventoryValuationServiceImpl::keyOf, Function.identity()));
+        List<InventoryValuation> expected = new ArrayList<>(valuationRepository.scanCategoryTotals());
+        expected.addAll(valuationRepository.scanSupplierTotals());
+
+        List<InventoryValuation> repairs = new ArrayList<>();
+        for (InventoryValuation row : expected) {
+            InventoryValuation current = stored.remove(keyOf(row));
+            if (current == null || !sameTotals(current, row)) {
+                log.warn("Valuation of {} {} is out of date: stored {}, expected {}",
+                        row.getScope(), row.getScopeId(), current, row);
+                repairs.add(row);
+            }
+        }
+        // Whatever is left has no products any more and must be empty
+        for (InventoryValuation current : stored.values()) {
+            InventoryValuation empty = new InventoryValuation(current.getScope(), current.getScopeId(), BigDecimal.ZERO, 0, 0);
+            if (!sameTotals(current, empty)) {
+                log.warn("Valuation of {} {} is out of date: stored {}, expected no products",
+                        current.getScope(), current.getScopeId(), current);
+                repairs.add(empty);
+            }
+        }
+        valuationRepository.saveAll(repairs);
+        return repairs.size();
+    }
+
+    /**
+     * Applies the deltas of a product write to the aggregates.
+     * Deltas hitting the same row are merged first, so every row is updated at most once.
+     *
+     * @param event the deltas of the write
+     */
+    @EventListener
+    @Transactional
+    public void onInventoryValueChanged(InventoryValueChangedEvent event) {
+        Map<InventoryValuation.Key, ValuationDelta> merged = new TreeMap<>(KEY_ORDER);
+        for (ValuationDelta delta : event.getDeltas()) {
+            merged.merge(new InventoryValuation.Key(ValuationScope.CATEGORY, Objects.requireNonNullElse(delta.getCategoryId(), UNASSIGNED)),
+                    delta, InventoryValuationServiceImpl::sum);
+            merged.merge(new InventoryValuation.Key(ValuationScope.SUPPLIER, Objects.requireNonNullElse(delta.getSupplierId(), UNASSIGNED)),
+                    delta, InventoryValuationServiceImpl::sum);
+        }
+        merged.forEach(this::apply);
+    }
+
+    private void apply(InventoryValuation.Key key, ValuationDelta delta) {
+        if (delta.getValue().signum() == 0 && delta.getQuantity() == 0 && delta.getProductCount() == 0) {
+            return;
+        }
+        int updated = valuationRepository.addDelta(key.getScope(), key.getScopeId(),
+                delta.getValue(), delta.getQuantity(), delta.getProductCount());
+        if (updated == 0) {
+            // First product of this category or supplier
+            valuationRepository.insertIfAbsent(key.getScope().name(), key.getScopeId());
+            valuationRepository.addDelta(key.getScope(), key.getScopeId(),
+                    delta.getValue(), delta.getQuantity(), delta.getProductCount());
+        }
+    }
+
+    private static ValuationDelta sum(ValuationDelta a, ValuationDelta b) {
+        return new ValuationDelta(a.getCategoryId(), a.getSupplierId(), a.getValue().add(b.getValue()),
+                a.getQuantity() + b.getQuantity(), a.getProductCount() + b.getProductCount());
+    }
+
+    private static InventoryValuation.Key keyOf(InventoryValuation row) {
+        return new InventoryValuation.Key(row.getScope(), row.getScopeId());
+    }
+
+    private static boolean sameTotals(InventoryValuation a, InventoryValuation b) {
+        return a.getTotalValue().compareTo(b.getTotalValue()) == 0
+                && a.getTotalQuantity() == b.getTotalQuantity()
+                && a.getProductCount() == b.getProductCount();
+    }
+
+}
@@ -0,0 +1,193 @@
+package com.bojan.inventorymanagement.service.impl;
+
+import com.bojan.inventorymanagement.config.MetricsConfig;
+import com.bojan.inventorymanagement.dto.BulkDeleteDTO;
+import com.bojan.inventorymanagement.dto.BulkOperationResultDTO;
+import com.bojan.inventorymanagement.dto.BulkPriceUpdateDTO;
+import com.bojan.inventorymanagement.dto.ProductFilterDTO;
+import com.bojan.inventorymanagement.event.InventoryValueChangedEvent;
+import com.bojan.inventorymanagement.event.StockLevelChangedEvent;
+import com.bojan.inventorymanagement.event.ValuationDelta;
+import com.bojan.inventorymanagement.exception.BadRequestException;
+import com.bojan.inventorymanagement.model.Product;
+import com.bojan.inventorymanagement.repository.PendingSnapshotMovementRepository;
+import com.bojan.inventorymanagement.repository.ProductRepository;
+import com.bojan.inventorymanagement.repository.ProductSpecifications;
+import com.bojan.inventorymanagement.service.ProductBulkService;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of the ProductBulkService interface.
+ * Products are processed in chunks of IDs in ascending order, each chunk in its own transaction:
+ * its rows are locked, the side effects are computed with a few aggregate queries and the rows are
+ * changed with a single DELETE or UPDATE. Locks are held for one chunk only, so a large operation
+ * does not block other writers for its whole duration; chunks that were committed stay applied
+ * if a later one fails.
+ */
+@Slf4j
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+@RequiredArgsConstructor
+public class ProductBulkServiceImpl implements ProductBulkService {
+
+    // Reason recorded in the stock ledger for the remaining stock of deleted products
+    private static final String PRODUCT_DELETED = "Product deleted";
+
+    // Prices must stay positive; a repriced product costs at least one cent
+    private static final BigDecimal MINIMUM_PRICE = new BigDecimal("0.01");
+
+    // Injected repository and helpers for handling business logic
+    private final ProductRepository productRepository;
+    private final PendingSnapshotMovementRepository pendingRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${inventory.bulk.chunk-size:1000}")
+    private int defaultChunkSize;
+
+    /**
+     * Deletes the products with the given IDs or matching the given filter, together with their
+     * low-stock alerts and their share of the valuation. The remaining stock is booked out in the
+     * stock ledger, whose history is kept. IDs that do not exist are skipped.
+     *
+     * @param request the IDs or the filter, the chunk size and whether it is a dry run
+     * @return the number of products deleted, or that would be deleted
+     * @throws BadRequestException if neither or both of IDs and filter are given, or the filter is empty
+     */
+    @Override
+    public BulkOperationResultDTO deleteProducts(BulkDeleteDTO request) {
+        boolean byIds = request.getIds() != null && !request.getIds().isEmpty();
+        boolean byFilter = request.getFilter() != null && !request.getFilter().isEmpty();
+        if (byIds == byFilter) {
+            throw new BadRequestException("Either ids or a non-empty filter must be given");
+        }
+        Specification<Product> specification = byIds
+                ? ProductSpecifications.withIds(request.getIds())
+                : ProductSpecifications.matching(request.getFilter());
+        BulkOperationResultDTO result = run(specification, request.isDryRun(), request.getChunkSize(), this::deleteChunk);
+        log.info("Bulk delete{}: {} products in {} chunks", request.isDryRun() ? " (dry run)" : "", result.getAffected(), result.getChunks());
+        return result;
+    }
+
+    /**
+     * Changes the prices of all products of a category and/or supplier by a percentage, rounded as requested.
+     * Every repriced product gets a new version, and the valuation aggregates are updated.
+     *
+     * @param request the category and/or supplier, the percentage, the rounding, the chunk size and whether it is a dry run
+     * @return the number of products repriced, or that would be repriced
+     * @throws BadRequestException if neither category nor supplier is given, or the rounding mode is not supported
+     */
+    @Override
+    public BulkOperationResultDTO adjustPrices(BulkPriceUpdateDTO request) {
+        if (request.getCategoryId() == null && request.getSupplierId() == null) {
+            throw new BadRequestException("categoryId or supplierId must be given");
+        }
+        Rounding rounding = Rounding.of(request.getRoundingMode());
+        BigDecimal factor = BigDecimal.ONE.add(request.getPercent().movePointLeft(2));
+        BigDecimal unit = BigDecimal.ONE.movePointRight(request.getScale());
+        Specification<Product> specification = ProductSpecifications.matching(ProductFilterDTO.builder()
+                .categoryId(request.getCategoryId())
+                .supplierId(request.getSupplierId())
+                .build());
+        BulkOperationResultDTO result = run(specification, request.isDryRun(), request.getChunkSize(), ids -> {
+            List<ValuationDelta> before = productRepository.findValuationTotals(ids);
+            int updated = productRepository.adjustPrices(ids, factor, unit, rounding.sign(), rounding.offset(), MINIMUM_PRICE);
+            List<ValuationDelta> after = productRepository.findValuationTotals(ids);
+            eventPublisher.publishEvent(new InventoryValueChangedEvent(Stream.concat(before.stream().map(ValuationDelta::negated), after.stream())
+                    .collect(Collectors.toList())));
+            return updated;
+        });
+        log.info("Bulk price change of {} % for category {} and supplier {}{}: {} products in {} chunks", request.getPercent(),
+                request.getCategoryId(), request.getSupplierId(), request.isDryRun() ? " (dry run)" : "", result.getAffected(), result.getChunks());
+        return result;
+    }
+
+    /**
+     * Deletes one locked chunk of products and publishes the side effects.
+     * The ledger entries and the valuation totals are read before the rows are gone; the alerts
+     * of products that no longer exist are resolved by the stock level listener.
+     */
+    private int deleteChunk(List<Long> ids) {
+        List<ValuationDelta> totals = productRepository.findValuationTotals(ids);
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        productRepository.recordRemovals(ids, PRODUCT_DELETED, now);
+        pendingRepository.queueRecorded(ids, PRODUCT_DELETED, now);
+        int deleted = productRepository.deleteAllByIds(ids);
+        eventPublisher.publishEvent(new StockLevelChangedEvent(ids));
+        eventPublisher.publishEvent(new InventoryValueChangedEvent(totals.stream()
+                .map(ValuationDelta::negated)
+                .collect(Collectors.toList())));
+        return deleted;
+    }
+
+    /**
+     * Applies a chunk operation to all products matching the specification, one keyset chunk and
+     * transaction at a time, or only counts them for a dry run.
+     */
+    private BulkOperationResultDTO run(Specification<Product> specification, boolean dryRun, Integer chunkSize,
+                                       ToIntFunction<List<Long>> operation) {
+        if (dryRun) {
+            return new BulkOperationResultDTO(true, productRepository.count(specification), 0);
+        }
+        int limit = chunkSize != null ? chunkSize : defaultChunkSize;
+        long affected = 0;
+        int chunks = 0;
+        Chunk chunk = new Chunk(0L, 0, 0);
+        do {
+            long afterId = chunk.lastId();
+            chunk = transactionTemplate.execute(status -> {
+                List<Long> ids = productRepository.lockIds(specification, afterId, limit);
+                return ids.isEmpty() ? new Chunk(afterId, 0, 0)
+                        : new Chunk(ids.get(ids.size() - 1), ids.size(), operation.applyAsInt(ids));
+            });
+            if (chunk.size() > 0) {
+                affected += chunk.affected();
+                chunks++;
+            }
+        } while (chunk.size() == limit);
+        return new BulkOperationResultDTO(false, affected, chunks);
+    }
+
+    /**
+     * Outcome of one chunk: the last ID it covered, the number of IDs it locked and the number of rows changed.
+     */
+    private record Chunk(long lastId, int size, int affected) {
+    }
+
+    /**
+     * The parameters of {@link ProductRepository#adjustPrices} that implement a rounding mode.
+     * Prices are positive, so rounding up equals rounding towards positive infinity and down towards zero.
+     */
+    private record Rounding(BigDecimal sign, BigDecimal offset) {
+
+        private static final BigDecimal HALF = new BigDecimal("0.5");
+
+        static Rounding of(RoundingMode mode) {
+            return switch (mode) {
+                case DOWN, FLOOR -> new Rounding(BigDecimal.ONE, BigDecimal.ZERO);
+                case UP, CEILING -> new Rounding(BigDecimal.ONE.negate(), BigDecimal.ZERO);
+                case HALF_UP -> new Rounding(BigDecimal.ONE, HALF);
+                case HALF_DOWN -> new Rounding(BigDecimal.ONE.negate(), HALF);
+                default -> throw new BadRequestException("Unsupported rounding mode: " + mode);
+            };
+        }
+
+    }
+
+}
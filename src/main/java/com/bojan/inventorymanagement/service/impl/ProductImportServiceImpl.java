@@ -0,0 +1,309 @@
+package com.bojan.inventorymanagement.service.impl;
+
+import com.bojan.inventorymanagement.config.MetricsConfig;
+import com.bojan.inventorymanagement.dto.BatchItemErrorDTO;
+import com.bojan.inventorymanagement.dto.ImportProgressDTO;
+import com.bojan.inventorymanagement.dto.ProductDTO;
+import com.bojan.inventorymanagement.event.InventoryValueChangedEvent;
+import com.bojan.inventorymanagement.event.StockLevelChangedEvent;
+import com.bojan.inventorymanagement.event.ValuationDelta;
+import com.bojan.inventorymanagement.exception.BadRequestException;
+import com.bojan.inventorymanagement.model.Category;
+import com.bojan.inventorymanagement.model.ProductImportRow;
+import com.bojan.inventorymanagement.model.Supplier;
+import com.bojan.inventorymanagement.repository.CategoryRepository;
+import com.bojan.inventorymanagement.repository.PendingSnapshotMovementRepository;
+import com.bojan.inventorymanagement.repository.ProductImportRepository;
+import com.bojan.inventorymanagement.repository.SupplierRepository;
+import com.bojan.inventorymanagement.service.ProductImportService;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of the ProductImportService interface.
+ * The file is parsed as a stream and processed in chunks: the category and supplier references of
+ * a chunk are resolved with one query each, its rows are validated in parallel and the valid rows
+ * are bulk loaded into the staging table. Once the whole file is staged, it is merged into the
+ * product table with a handful of set-based statements in one transaction. Memory use is bounded
+ * by the chunk size, not by the file size.
+ */
+@Slf4j
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+@RequiredArgsConstructor
+public class ProductImportServiceImpl implements ProductImportService {
+
+    private static final int CHUNK_SIZE = 5000;
+    private static final int EVENT_CHUNK_SIZE = 1000;
+
+    private static final List<String> REQUIRED_COLUMNS = List.of("name", "price", "quantity", "category", "supplier");
+
+    private static final CSVFormat FORMAT = CSVFormat.DEFAULT.builder()
+            .setHeader()
+            .setSkipHeaderRecord(true)
+            .setIgnoreHeaderCase(true)
+            .setIgnoreEmptyLines(true)
+            .setTrim(true)
+            .build();
+
+    // Injected repositories and services for handling business logic
+    private final ProductImportRepository importRepository;
+    private final PendingSnapshotMovementRepository pendingRepository;
+    private final CategoryRepository categoryRepository;
+    private final SupplierRepository supplierRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+
+    /**
+     * Imports products from a CSV file with the columns name, description, price, quantity, unit,
+     * category, supplier and reorderThreshold. Category and supplier may be given by name or ID.
+     * Rows update the product with the same supplier and name, or create a new product.
+     * Invalid rows are reported and skipped; all valid rows are applied atomically at the end.
+     *
+     * @param csv the CSV content, starting with a header line
+     * @param source a description of the file, recorded as the reason in the stock ledger
+     * @param progress receives a report after every chunk and when the import finishes
+     * @return the final report
+     * @throws BadRequestException if the header is missing a required column
+     */
+    @Override
+    public ImportProgressDTO importProducts(InputStream csv, String source, Consumer<ImportProgressDTO> progress) {
+        String importId = UUID.randomUUID().toString();
+        ImportProgressDTO report = ImportProgressDTO.builder().importId(importId).status(ImportProgressDTO.Status.RUNNING).build();
+        // Positive lookups only, so references created during the import are still found
+        Map<String, Long> categoryIds = new HashMap<>();
+        Map<String, Long> supplierIds = new HashMap<>();
+        boolean applied = false;
+        try (Reader reader = new InputStreamReader(csv, StandardCharsets.UTF_8);
+             CSVParser parser = FORMAT.parse(reader)) {
+            List<String> missing = REQUIRED_COLUMNS.stream()
+                    .filter(column -> parser.getHeaderMap().keySet().stream().noneMatch(column::equalsIgnoreCase))
+                    .toList();
+            if (!missing.isEmpty()) {
+                throw new BadRequestException("The CSV header is missing the columns " + missing);
+            }
+            List<CSVRecord> chunk = new ArrayList<>(CHUNK_SIZE);
+            for (CSVRecord record : parser) {
+                chunk.add(record);
+                if (chunk.size() == CHUNK_SIZE) {
+                    stageChunk(importId, chunk, report, categoryIds, supplierIds);
+                    progress.accept(report);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                stageChunk(importId, chunk, report, categoryIds, supplierIds);
+                progress.accept(report);
+            }
+            report.setErrors(new ArrayList<>());
+            transactionTemplate.executeWithoutResult(status -> apply(importId, source, report));
+            applied = true;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            if (!applied) {
+                transactionTemplate.executeWithoutResult(status -> importRepository.deleteByImportId(importId));
+            }
+        }
+        report.setStatus(ImportProgressDTO.Status.DONE);
+        progress.accept(report);
+        return report;
+    }
+
+    /**
+     * Validates one chunk of records and loads the valid rows into the staging table.
+     * Errors of the chunk replace the errors of the previous report.
+     */
+    private void stageChunk(String importId, List<CSVRecord> records, ImportProgressDTO report,
+                            Map<String, Long> categoryIds, Map<String, Long> supplierIds) {
+        long firstLine = report.getRowsRead() + 2;     // Line 1 is the header
+        resolve(column(records, "category"), categoryIds, categoryRepository::findAllById,
+                categoryRepository::findByNameInOrderById, Category::getId, Category::getName);
+        resolve(column(records, "supplier"), supplierIds, supplierRepository::findAllById,
+                supplierRepository::findByNameInOrderById, Supplier::getId, Supplier::getName);
+
+        // Validation is CPU bound and independent per row; the ordered result keeps errors in file order
+        List<Object> results = IntStream.range(0, records.size()).parallel()
+                .mapToObj(i -> toRow(importId, firstLine + i, records.get(i), categoryIds, supplierIds))
+                .toList();
+
+        List<ProductImportRow> rows = new ArrayList<>(results.size());
+        List<BatchItemErrorDTO> errors = new ArrayList<>();
+        long reported = report.getRowsRejected();
+        for (Object result : results) {
+            if (result instanceof ProductImportRow row) {
+                rows.add(row);
+            } else {
+                if (reported++ < ImportProgressDTO.MAX_ERRORS) {
+                    errors.add((BatchItemErrorDTO) result);
+                }
+                report.setRowsRejected(report.getRowsRejected() + 1);
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> importRepository.load(rows));
+        report.setRowsRead(report.getRowsRead() + records.size());
+        report.setRowsStaged(report.getRowsStaged() + rows.size());
+        report.setErrors(errors);
+    }
+
+    /**
+     * Converts a record into a staged row, or into an error entry if the record is invalid.
+     * Rows are checked against the same constraints as products created through the API.
+     */
+    private Object toRow(String importId, long lineNo, CSVRecord record,
+                         Map<String, Long> categoryIds, Map<String, Long> supplierIds) {
+        ProductDTO productDTO;
+        try {
+            productDTO = ProductDTO.builder()
+                    .name(value(record, "name"))
+                    .description(value(record, "description"))
+                    .price(value(record, "price") == null ? null : new BigDecimal(value(record, "price")))
+                    .quantity(value(record, "quantity") == null ? 0 : Integer.parseInt(value(record, "quantity")))
+                    .unit(value(record, "unit"))
+                    .reorderThreshold(value(record, "reorderThreshold") == null ? null : Integer.valueOf(value(record, "reorderThreshold")))
+                    .categoryId(categoryIds.get(value(record, "category")))
+                    .supplierId(supplierIds.get(value(record, "supplier")))
+                    .build();
+        } catch (NumberFormatException ex) {
+            return new BatchItemErrorDTO((int) lineNo, "price, quantity and reorderThreshold must be numbers");
+        }
+        if (value(record, "category") != null && productDTO.getCategoryId() == null) {
+            return new BatchItemErrorDTO((int) lineNo, "Category not found");
+        }
+        if (value(record, "supplier") != null && productDTO.getSupplierId() == null) {
+            return new BatchItemErrorDTO((int) lineNo, "Supplier not found");
+        }
+        Set<ConstraintViolation<ProductDTO>> violations = validator.validate(productDTO);
+        if (!violations.isEmpty()) {
+            return BatchItemErrorDTO.fromViolations((int) lineNo, violations);
+        }
+        return ProductImportRow.builder()
+                .importId(importId)
+                .lineNo(lineNo)
+                .name(productDTO.getName())
+                .description(productDTO.getDescription())
+                .price(productDTO.getPrice())
+                .quantity(productDTO.getQuantity())
+                .unit(productDTO.getUnit())
+                .reorderThreshold(productDTO.getReorderThreshold())
+                .categoryId(productDTO.getCategoryId())
+                .supplierId(productDTO.getSupplierId())
+                .build();
+    }
+
+    /**
+     * Resolves the references of a chunk that are not cached yet, by ID for numeric values and by name.
+     * An ID match takes precedence; of several entities with the same name the oldest one is used.
+     */
+    private <E> void resolve(Set<String> references, Map<String, Long> ids,
+                             Function<Collection<Long>, List<E>> findByIds, Function<Collection<String>, List<E>> findByNames,
+                             Function<E, Long> idOf, Function<E, String> nameOf) {
+        references.removeAll(ids.keySet());
+        if (references.isEmpty()) {
+            return;
+        }
+        List<Long> numeric = references.stream()
+                .filter(reference -> reference.chars().allMatch(Character::isDigit) && reference.length() < 19)
+                .map(Long::valueOf)
+                .toList();
+        if (!numeric.isEmpty()) {
+            findByIds.apply(numeric).forEach(entity -> ids.put(String.valueOf(idOf.apply(entity)), idOf.apply(entity)));
+        }
+        references.removeAll(ids.keySet());
+        if (!references.isEmpty()) {
+            findByNames.apply(references).forEach(entity -> ids.putIfAbsent(nameOf.apply(entity), idOf.apply(entity)));
+        }
+    }
+
+    /**
+     * Merges a fully staged import into the product table and records it in the stock ledger.
+     * Runs in a single transaction, so either all valid rows are applied or none; the valuation
+     * changes by the totals of the touched products after the merge minus those before it.
+     */
+    private void apply(String importId, String source, ImportProgressDTO report) {
+        importRepository.removeSupersededRows(importId);
+        importRepository.lockMatchedProducts(importId);
+        importRepository.matchExistingProducts(importId);
+        List<ValuationDelta> totalsBefore = importRepository.findValuationTotals(importId);
+        report.setInserted(importRepository.assignNewProductIds(importId));
+        report.setUpdated(importRepository.updateMatchedProducts(importId));
+        importRepository.insertNewProducts(importId);
+        List<ValuationDelta> totalsAfter = importRepository.findValuationTotals(importId);
+        eventPublisher.publishEvent(new InventoryValueChangedEvent(Stream.concat(totalsBefore.stream().map(ValuationDelta::negated), totalsAfter.stream())
+                .collect(Collectors.toList())));
+        String reason = "CSV import " + source;
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        importRepository.recordStockMovements(importId, reason, now);
+        pendingRepository.queueImported(importId, reason, now);
+
+        // Re-evaluate the low-stock alerts of the touched products, one page at a time
+        Long after = 0L;
+        List<Long> productIds;
+        do {
+            productIds = importRepository.findProductIds(importId, after, Limit.of(EVENT_CHUNK_SIZE));
+            if (!productIds.isEmpty()) {
+                eventPublisher.publishEvent(new StockLevelChangedEvent(productIds));
+                after = productIds.get(productIds.size() - 1);
+            }
+        } while (productIds.size() == EVENT_CHUNK_SIZE);
+
+        importRepository.deleteByImportId(importId);
+        log.info("Import {} from {}: {} products inserted, {} updated, {} rows rejected",
+                importId, source, report.getInserted(), report.getUpdated(), report.getRowsRejected());
+    }
+
+    private static Set<String> column(List<CSVRecord> records, String column) {
+        Set<String> values = new HashSet<>();
+        for (CSVRecord record : records) {
+            String value = value(record, column);
+            if (value != null) {
+                values.add(value);
+            }
+        }
+        return values;
+    }
+
+    /** Value of a column, or null if the column is absent or the value is blank */
+    private static String value(CSVRecord record, String column) {
+        if (!record.isSet(column)) {
+            return null;
+        }
+        String value = record.get(column);
+        return value.isEmpty() ? null : value;
+    }
+
+}
@@ -1,44 +1,214 @@
 package com.bojan.inventorymanagement.service.impl;
 
+import com.bojan.inventorymanagement.config.MetricsConfig;
+import com.bojan.inventorymanagement.dto.ProductDTO;
+import com.bojan.inventorymanagement.dto.ProductExportDTO;
+import com.bojan.inventorymanagement.dto.ProductFilterDTO;
+import com.bojan.inventorymanagement.event.InventoryValueChangedEvent;
+import com.bojan.inventorymanagement.event.StockLevelChangedEvent;
+import com.bojan.inventorymanagement.event.StockMovedEvent;
+import com.bojan.inventorymanagement.event.ValuationDelta;
+import com.bojan.inventorymanagement.exception.InsufficientStockException;
+import com.bojan.inventorymanagement.exception.ResourceNotFoundException;
+import com.bojan.inventorymanagement.model.MovementType;
 import com.bojan.inventorymanagement.model.Product;
+import com.bojan.inventorymanagement.model.StockMovement;
 import com.bojan.inventorymanagement.repository.ProductRepository;
+import com.bojan.inventorymanagement.repository.ProductSpecifications;
 import com.bojan.inventorymanagement.service.ProductService;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.hibernate.cache.spi.TimestampsRegion;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Implementation of the ProductService interface.
  * Handles business logic and data access operations for Product entities.
  */
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 public class ProductServiceImpl implements ProductService {
 
+    // Reasons recorded in the stock ledger for changes that are not explicit stock movements
+    private static final String INITIAL_STOCK = "Initial stock";
+    private static final String MANUAL_UPDATE = "Product updated";
+    private static final String PRODUCT_DELETED = "Product deleted";
+
+    // Tables whose rows appear on the product list page
+    private static final String[] LIST_TABLES = {"product", "category", "supplier"};
+
     // Injected repository for handling business logic
     private final ProductRepository productRepository;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Saves a new product or updates an existing one.
+     * The product's low-stock alert, the valuation aggregates and the stock ledger are updated in the same transaction.
      *
      * @param product the product to save
      * @return the saved product instance
      */
     @Override
+    @Transactional
     public Product saveProduct(Product product) {
-        return productRepository.save(product);
+        List<ValuationDelta> deltas = new ArrayList<>();
+        int previousQuantity = 0;
+        if (product.getId() != null) {
+            Optional<Product> existing = productRepository.findById(product.getId());
+            if (existing.isPresent()) {
+                deltas.add(ValuationDelta.removed(existing.get()));
+                previousQuantity = existing.get().getQuantity();
+            }
+        }
+        // Capture the type before saving, as saving a new product assigns its ID
+        MovementType type = product.getId() == null ? MovementType.RECEIPT : MovementType.ADJUSTMENT;
+        Product saved = productRepository.save(product);
+        deltas.add(ValuationDelta.added(saved));
+        eventPublisher.publishEvent(new StockLevelChangedEvent(List.of(saved.getId())));
+        eventPublisher.publishEvent(new InventoryValueChangedEvent(deltas));
+        if (saved.getQuantity() != previousQuantity) {
+            eventPublisher.publishEvent(new StockMovedEvent(List.of(movement(saved.getId(), type,
+                    saved.getQuantity() - previousQuantity, type == MovementType.RECEIPT ? INITIAL_STOCK : MANUAL_UPDATE, Instant.now()))));
+        }
+        return saved;
+    }
+
+    /**
+     * Saves a list of new products in a single transaction.
+     * IDs come from a pooled sequence, so Hibernate sends the inserts in JDBC batches.
+     * Low-stock alerts for the whole batch are opened with a single statement,
+     * the valuation aggregates are updated once per category and supplier, and the initial
+     * stock of every product is recorded in the stock ledger.
+     *
+     * @param products the products to save
+     * @return the saved product instances
+     */
+    @Override
+    @Transactional
+    public List<Product> saveProducts(List<Product> products) {
+        List<Product> saved = productRepository.saveAll(products);
+        eventPublisher.publishEvent(new StockLevelChangedEvent(saved.stream()
+                .map(Product::getId)
+                .collect(Collectors.toList())));
+        eventPublisher.publishEvent(new InventoryValueChangedEvent(saved.stream()
+                .map(ValuationDelta::added)
+                .collect(Collectors.toList())));
+        Instant now = Instant.now();
+        eventPublisher.publishEvent(new StockMovedEvent(saved.stream()
+                .filter(product -> product.getQuantity() != 0)
+                .map(product -> movement(product.getId(), MovementType.RECEIPT, product.getQuantity(), INITIAL_STOCK, now))
+                .collect(Collectors.toList())));
+        return saved;
+    }
+
+    /**
+     * Retrieves one keyset page of products matching the filter, ordered by ID.
+     * Rows are projected straight into DTOs in a read-only transaction.
+     *
+     * @param filter the filter criteria, an empty filter matches every product
+     * @param afterId the ID of the last product of the previous page, 0 for the first page
+     * @param limit the maximum number of products to return
+     * @return matching products with an ID greater than {@code afterId}, in ID order
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductDTO> getProductsAfterId(ProductFilterDTO filter, long afterId, int limit) {
+        return productRepository.findDtos(ProductSpecifications.matching(filter), afterId, limit);
+    }
+
+    /**
+     * Retrieves one keyset page of product list download rows matching the filter, ordered by ID.
+     * Each page is read in its own short read-only transaction, so a download never keeps a
+     * connection busy while it waits for a slow client.
+     *
+     * @param filter the filter criteria, an empty filter matches every product
+     * @param afterId the ID of the last product of the previous page, 0 for the first page
+     * @param limit the maximum number of rows to return
+     * @return matching rows with an ID greater than {@code afterId}, in ID order
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductExportDTO> getExportRowsAfterId(ProductFilterDTO filter, long afterId, int limit) {
+        return productRepository.findExportDtos(ProductSpecifications.matching(filter), afterId, limit);
+    }
+
+    /**
+     * Retrieves one numbered page of product list rows matching the filter, in the requested order.
+     * Rows are projected straight into DTOs with the category and supplier names joined in.
+     *
+     * @param filter the filter criteria, an empty filter matches every product
+     * @param pageable the page number, page size and sort order
+     * @return the requested page of rows
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ProductExportDTO> getProductListPage(ProductFilterDTO filter, Pageable pageable) {
+        return productRepository.findExportDtos(ProductSpecifications.matching(filter), pageable);
+    }
+
+    /**
+     * Returns a token that changes whenever the product, category or supplier table is written.
+     * Built from Hibernate's update timestamps, which back the query cache: every insert, update
+     * and delete through Hibernate, including bulk and native statements with declared query
+     * spaces, stamps the tables it touches when its transaction completes. No SQL is executed.
+     * Only writes made by this application instance are seen.
+     *
+     * @return the current data version, or empty when the query cache is disabled and writes are not tracked
+     */
+    @Override
+    public Optional<String> getProductListVersion() {
+        SessionFactoryImplementor sessionFactory = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class);
+        TimestampsRegion timestamps = sessionFactory.getCache().getTimestampsCache().getRegion();
+        if (timestamps == null) {
+            return Optional.empty();
+        }
+        // Opening a session does not acquire a connection
+        try (SessionImplementor session = (SessionImplementor) sessionFactory.openSession()) {
+            return Optional.of(Stream.of(LIST_TABLES)
+                    .map(table -> String.valueOf(timestamps.getFromCache(table, session)))
+                    .collect(Collectors.joining("-")));
+        }
     }
 
     /**
-     * Retrieves a list of all products from the database.
+     * Retrieves one keyset page of products ordered by name and ID.
+     * Rows are projected straight into DTOs in a read-only transaction.
      *
-     * @return list of all products
+     * @param afterName the name of the last product of the previous page, null for the first page
+     * @param afterId the ID of the last product of the previous page
+     * @param limit the maximum number of products to return
+     * @return products positioned after the given (name, id) pair, in (name, id) order
      */
     @Override
-    public List<Product> getAllProducts() {
-        return productRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<ProductDTO> getProductsAfterName(String afterName, long afterId, int limit) {
+        if (afterName == null) {
+            return productRepository.findDtosOrderByName(Limit.of(limit));
+        }
+        return productRepository.findDtosAfterName(afterName, afterId, Limit.of(limit));
     }
 
     /**
@@ -53,26 +223,145 @@ public class ProductServiceImpl implements ProductService {
     }
 
     /**
-     * Deletes a product by its ID.
+     * Retrieves a single product by its ID as a DTO, without hydrating the entity.
+     *
+     * @param id the ID of the product
+     * @return Optional containing the product DTO if found, empty otherwise
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<ProductDTO> getProductDtoById(Long id) {
+        return productRepository.findDtoById(id);
+    }
+
+    /**
+     * Retrieves only the row version of a product, without loading the row itself.
+     *
+     * @param id the ID of the product
+     * @return Optional containing the version if the product exists, empty otherwise
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Long> getProductVersion(Long id) {
+        return productRepository.findVersionById(id);
+    }
+
+    /**
+     * Retrieves a single product by its ID, with its category and supplier initialized.
+     * The category and supplier are taken from the second-level cache when they are in it.
+     *
+     * @param id the ID of the product
+     * @return Optional containing the product if found, empty otherwise
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Product> getProductWithReferencesById(Long id) {
+        Optional<Product> product = productRepository.findById(id);
+        product.ifPresent(ProductServiceImpl::initializeReferences);
+        return product;
+    }
+
+    /**
+     * Searches products by name and description, best match first.
+     * Results are projected straight into DTOs in a read-only transaction.
+     *
+     * @param query the search text
+     * @param offset the number of best matches to skip
+     * @param limit the maximum number of products to return
+     * @return the matching products, best match first
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductDTO> searchProducts(String query, int offset, int limit) {
+        List<Long> ids = productRepository.searchIds(query, limit, offset);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return inRankOrder(ids, productRepository.findDtosByIdIn(ids), ProductDTO::getId);
+    }
+
+    /**
+     * Searches products by name and description, best match first,
+     * with category and supplier initialized for display.
+     *
+     * @param query the search text
+     * @param limit the maximum number of products to return
+     * @return the matching products, best match first
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<Product> searchProductsWithReferences(String query, int limit) {
+        List<Long> ids = productRepository.searchIds(query, limit, 0);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<Product> products = productRepository.findAllById(ids);
+        products.forEach(ProductServiceImpl::initializeReferences);
+        return inRankOrder(ids, products, Product::getId);
+    }
+
+    /**
+     * Passes every product, in ID order, to the given consumer.
+     * Products are read through a database cursor and detached right after they are consumed,
+     * so the persistence context does not grow with the size of the table.
+     *
+     * @param consumer callback invoked once for every product
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportProducts(Consumer<Product> consumer) {
+        try (Stream<Product> products = productRepository.streamAll()) {
+            products.forEach(product -> {
+                consumer.accept(product);
+                entityManager.detach(product);
+            });
+        }
+    }
+
+    /**
+     * Deletes a product by its ID, together with its low-stock alert and its share of the valuation.
+     * The remaining stock is booked out in the stock ledger, whose history is kept.
+     * Deleting a product that does not exist does nothing.
      *
      * @param id the ID of the product to delete
      */
     @Override
+    @Transactional
     public void deleteProduct(Long id) {
-        productRepository.deleteById(id);
+        productRepository.findById(id).ifPresent(product -> {
+            productRepository.delete(product);
+            eventPublisher.publishEvent(new StockLevelChangedEvent(List.of(id)));
+            eventPublisher.publishEvent(new InventoryValueChangedEvent(List.of(ValuationDelta.removed(product))));
+            if (product.getQuantity() != 0) {
+                eventPublisher.publishEvent(new StockMovedEvent(List.of(movement(id, MovementType.ADJUSTMENT,
+                        -product.getQuantity(), PRODUCT_DELETED, Instant.now()))));
+            }
+        });
     }
 
     /**
      * Updates an existing product with new data.
+     * Only columns whose value actually changed are written. A null category or supplier
+     * keeps the current association, so partial updates do not have to resolve them.
+     * The product's low-stock alert, the valuation aggregates and the stock ledger are updated in the same transaction.
      *
      * @param id the ID of the product to update
      * @param updatedProduct the new product data
+     * @param expectedVersion the version the client based its changes on, or null to skip the check
      * @return the updated product entity
+     * @throws ObjectOptimisticLockingFailureException if the product was modified in the meantime
      * @throws RuntimeException if the product with the given ID does not exist
      */
     @Override
-    public Product updateProduct(Long id, Product updatedProduct) {
+    @Transactional
+    public Product updateProduct(Long id, Product updatedProduct, Long expectedVersion) {
         return productRepository.findById(id).map(product -> {
+            if (expectedVersion != null && expectedVersion != product.getVersion()) {
+                throw new ObjectOptimisticLockingFailureException(Product.class, id);
+            }
+            ValuationDelta before = ValuationDelta.removed(product);
+            int previousQuantity = product.getQuantity();
+
             // Update fields with new values
             product.setName(updatedProduct.getName());
             product.setDescription(updatedProduct.getDescription());
@@ -81,12 +370,89 @@ public class ProductServiceImpl implements ProductService {
 //            product.setSku(updatedProduct.getSku());
             product.setUnit(updatedProduct.getUnit());
 //            product.setActive(updatedProduct.isActive());
-            product.setCategory(updatedProduct.getCategory());
-            product.setSupplier(updatedProduct.getSupplier());
+            product.setReorderThreshold(updatedProduct.getReorderThreshold());
+            if (updatedProduct.getCategory() != null) {
+                product.setCategory(updatedProduct.getCategory());
+            }
+            if (updatedProduct.getSupplier() != null) {
+                product.setSupplier(updatedProduct.getSupplier());
+            }
 
             // Save the updated product
-            return productRepository.save(product);
+            Product saved = productRepository.save(product);
+            eventPublisher.publishEvent(new StockLevelChangedEvent(List.of(id)));
+            eventPublisher.publishEvent(new InventoryValueChangedEvent(List.of(before, ValuationDelta.added(saved))));
+            if (saved.getQuantity() != previousQuantity) {
+                eventPublisher.publishEvent(new StockMovedEvent(List.of(movement(id, MovementType.ADJUSTMENT,
+                        saved.getQuantity() - previousQuantity, MANUAL_UPDATE, Instant.now()))));
+            }
+            return saved;
         }).orElseThrow(() -> new RuntimeException("Product not found"));
     }
 
+    /**
+     * Adds a signed delta to a product's stock level with a single conditional UPDATE and reads the new level back.
+     * The product's low-stock alert, the valuation aggregates and the stock ledger are updated in the same transaction;
+     * the row stays locked by the UPDATE until commit, so the price read for the valuation is current.
+     *
+     * @param id the ID of the product
+     * @param delta the amount to add, negative to remove stock
+     * @param type the kind of movement to record in the ledger, null to derive it from the sign of the delta
+     * @param reason free text to record in the ledger, may be null
+     * @return the new stock level
+     * @throws ResourceNotFoundException if the product does not exist
+     * @throws InsufficientStockException if the adjustment would bring the stock below zero
+     */
+    @Override
+    @Transactional
+    public int adjustStock(Long id, int delta, MovementType type, String reason) {
+        if (productRepository.adjustQuantity(id, delta) == 0) {
+            throw productRepository.existsById(id)
+                    ? new InsufficientStockException("Insufficient stock for product " + id)
+                    : new ResourceNotFoundException("Product not found");
+        }
+        // The row stays locked by the UPDATE, so this reads exactly the quantity it wrote
+        int quantity = productRepository.findQuantityById(id).orElseThrow();
+        eventPublisher.publishEvent(new StockLevelChangedEvent(List.of(id)));
+        productRepository.findValuationDelta(id, delta)
+                .ifPresent(valuationDelta -> eventPublisher.publishEvent(new InventoryValueChangedEvent(List.of(valuationDelta))));
+        eventPublisher.publishEvent(new StockMovedEvent(List.of(movement(id,
+                type != null ? type : MovementType.forDelta(delta), delta, reason, Instant.now()))));
+        return quantity;
+    }
+
+    /**
+     * Builds a stock ledger entry.
+     */
+    private static StockMovement movement(Long productId, MovementType type, int change, String reason, Instant occurredAt) {
+        return StockMovement.builder()
+                .productId(productId)
+                .type(type)
+                .quantityChange(change)
+                .reason(reason)
+                .occurredAt(occurredAt)
+                .build();
+    }
+
+    /**
+     * Initializes the category and supplier of a product, from the second-level cache where possible;
+     * cache misses of several products are loaded in batches.
+     */
+    private static void initializeReferences(Product product) {
+        Hibernate.initialize(product.getCategory());
+        Hibernate.initialize(product.getSupplier());
+    }
+
+    /**
+     * Reorders rows loaded by an IN query to match the ranking of the search query.
+     */
+    private static <T> List<T> inRankOrder(List<Long> rankedIds, List<T> rows, Function<T, Long> idOf) {
+        Map<Long, T> byId = rows.stream()
+                .collect(Collectors.toMap(idOf, Function.identity()));
+        return rankedIds.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
 }
@@ -0,0 +1,73 @@
+package com.bojan.inventorymanagement.service.impl;
+
+import com.bojan.inventorymanagement.config.MetricsConfig;
+import com.bojan.inventorymanagement.dto.StockAlertDTO;
+import com.bojan.inventorymanagement.event.ReorderThresholdChangedEvent;
+import com.bojan.inventorymanagement.event.StockLevelChangedEvent;
+import com.bojan.inventorymanagement.repository.StockAlertRepository;
+import com.bojan.inventorymanagement.service.StockAlertService;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Implementation of the StockAlertService interface.
+ * Keeps the active alerts up to date as stock changes, checking only the products that were written
+ * instead of rescanning the catalog. Listeners run synchronously in the transaction of the stock write,
+ * so an alert becomes visible together with the change that caused it.
+ */
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+@RequiredArgsConstructor
+public class StockAlertServiceImpl implements StockAlertService {
+
+    // Injected repository for handling business logic
+    private final StockAlertRepository stockAlertRepository;
+
+    /**
+     * Retrieves one keyset page of active alerts ordered by product ID.
+     *
+     * @param afterProductId the product ID of the last alert of the previous page, 0 for the first page
+     * @param limit the maximum number of alerts to return
+     * @return alerts with a product ID greater than {@code afterProductId}, in product ID order
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<StockAlertDTO> getActiveAlertsAfterProductId(long afterProductId, int limit) {
+        return stockAlertRepository.findDtosAfterProductId(afterProductId, Limit.of(limit));
+    }
+
+    /**
+     * Opens or resolves the alerts of the products whose stock changed.
+     *
+     * @param event the products that were written
+     */
+    @EventListener
+    @Transactional
+    public void onStockLevelChanged(StockLevelChangedEvent event) {
+        if (event.getProductIds().isEmpty()) {
+            return;
+        }
+        stockAlertRepository.resolveForProducts(event.getProductIds());
+        stockAlertRepository.openForProducts(event.getProductIds(), Instant.now());
+    }
+
+    /**
+     * Re-evaluates the alerts of a category's products after its default threshold changed.
+     *
+     * @param event the category that was written
+     */
+    @EventListener
+    @Transactional
+    public void onReorderThresholdChanged(ReorderThresholdChangedEvent event) {
+        stockAlertRepository.resolveForCategory(event.getCategoryId());
+        stockAlertRepository.openForCategory(event.getCategoryId(), Instant.now());
+    }
+
+}
@@ -0,0 +1,120 @@
+package com.bojan.inventorymanagement.service.impl;
+
+import com.bojan.inventorymanagement.config.MetricsConfig;
+import com.bojan.inventorymanagement.dto.StockMovementDTO;
+import com.bojan.inventorymanagement.event.StockMovedEvent;
+import com.bojan.inventorymanagement.model.PendingSnapshotMovement;
+import com.bojan.inventorymanagement.model.StockSnapshot;
+import com.bojan.inventorymanagement.repository.PendingSnapshotMovementRepository;
+import com.bojan.inventorymanagement.repository.StockMovementRepository;
+import com.bojan.inventorymanagement.repository.StockSnapshotRepository;
+import com.bojan.inventorymanagement.service.StockLedgerService;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Implementation of the StockLedgerService interface.
+ * Appends a movement for every stock change, in the transaction of the change, and answers
+ * as-of queries from the latest snapshot plus the movements recorded after it. Snapshots are
+ * built from the movements pending since the previous run, not from a time window of the ledger,
+ * so a movement stamped before a run but committed after it still reaches the snapshots.
+ */
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+@RequiredArgsConstructor
+public class StockLedgerServiceImpl implements StockLedgerService {
+
+    // Injected repositories for handling business logic
+    private final StockMovementRepository movementRepository;
+    private final StockSnapshotRepository snapshotRepository;
+    private final PendingSnapshotMovementRepository pendingRepository;
+
+    /**
+     * Retrieves one keyset page of a product's movements, newest first.
+     *
+     * @param productId the ID of the product
+     * @param beforeOccurredAt the time of the last movement of the previous page, null for the first page
+     * @param beforeId the ID of the last movement of the previous page
+     * @param limit the maximum number of movements to return
+     * @return the movements, newest first
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<StockMovementDTO> getMovements(Long productId, Instant beforeOccurredAt, long beforeId, int limit) {
+        if (beforeOccurredAt == null) {
+            return movementRepository.findDtosByProductId(productId, Limit.of(limit));
+        }
+        return movementRepository.findDtosByProductIdBefore(productId, beforeOccurredAt, beforeId, Limit.of(limit));
+    }
+
+    /**
+     * Computes the quantity a product had at the given time, from its latest snapshot before
+     * that time plus the movements between the snapshot and the time. Snapshots are taken daily,
+     * so only a bounded tail of the ledger is summed.
+     *
+     * @param productId the ID of the product
+     * @param asOf the point in time
+     * @return the quantity on hand at {@code asOf}, 0 before the product's first movement
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public int getQuantityAsOf(Long productId, Instant asOf) {
+        Optional<StockSnapshot> snapshot = snapshotRepository.findFirstByProductIdAndTakenAtLessThanEqualOrderByTakenAtDesc(productId, asOf);
+        int base = snapshot.map(StockSnapshot::getQuantity).orElse(0);
+        Instant from = snapshot.map(StockSnapshot::getTakenAt).orElse(Instant.EPOCH);
+        return Math.toIntExact(base + movementRepository.sumChanges(productId, from, asOf));
+    }
+
+    /**
+     * Snapshots every product with pending movements up to now, after adding the movements that
+     * committed too late for an earlier run to the snapshots they belong to.
+     * Runs at repeatable read, so every statement sees the same pending movements and only the ones
+     * included are removed; movements committing meanwhile stay pending for the next run.
+     *
+     * @return the number of snapshots taken
+     */
+    @Override
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    public int takeSnapshots() {
+        // The database keeps microseconds, a finer cutoff could leave an included movement pending
+        Instant cutoff = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        if (snapshotRepository.findLatestTakenAt().filter(latest -> !cutoff.isAfter(latest)).isPresent()) {
+            return 0;
+        }
+        snapshotRepository.applyLateMovements();
+        int taken = snapshotRepository.takeSnapshots(cutoff);
+        pendingRepository.deleteUpTo(cutoff);
+        return taken;
+    }
+
+    /**
+     * Appends the movements of a stock change to the ledger, and queues them for the next snapshot run.
+     * New rows get IDs from pooled sequences, so a batch of movements is inserted in JDBC batches.
+     *
+     * @param event the movements of the write
+     */
+    @EventListener
+    @Transactional
+    public void onStockMoved(StockMovedEvent event) {
+        movementRepository.saveAll(event.getMovements());
+        pendingRepository.saveAll(event.getMovements().stream()
+                .map(movement -> PendingSnapshotMovement.builder()
+                        .movementId(movement.getId())
+                        .productId(movement.getProductId())
+                        .quantityChange(movement.getQuantityChange())
+                        .occurredAt(movement.getOccurredAt())
+                        .build())
+                .toList());
+    }
+
+}
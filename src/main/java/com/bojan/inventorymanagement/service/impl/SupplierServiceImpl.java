@@ -1,11 +1,25 @@
 package com.bojan.inventorymanagement.service.impl;
 
+import com.bojan.inventorymanagement.config.CacheConfig;
+import com.bojan.inventorymanagement.config.MetricsConfig;
+import com.bojan.inventorymanagement.config.ReadYourWrites;
+import com.bojan.inventorymanagement.dto.BulkOperationResultDTO;
+import com.bojan.inventorymanagement.dto.SupplierDTO;
 import com.bojan.inventorymanagement.model.Supplier;
 import com.bojan.inventorymanagement.repository.SupplierRepository;
 import com.bojan.inventorymanagement.service.SupplierService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,6 +28,7 @@ import java.util.Optional;
  * Handles business logic and data access operations for Supplier entities.
  */
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 public class SupplierServiceImpl implements SupplierService {
 
@@ -22,57 +37,164 @@ public class SupplierServiceImpl implements SupplierService {
 
     /**
      * Saves a new supplier or updates an existing one.
+     * The saved supplier is put into the cache and the cached supplier list is dropped.
      *
      * @param supplier the supplier to save
      * @return the saved supplier instance
      */
     @Override
+    @Caching(put = @CachePut(cacheNames = CacheConfig.SUPPLIERS, key = "#result.id"),
+            evict = @CacheEvict(cacheNames = CacheConfig.SUPPLIER_LISTS, allEntries = true))
     public Supplier saveSupplier(Supplier supplier) {
         return supplierRepository.save(supplier);
     }
 
+    /**
+     * Saves a list of new suppliers in a single transaction.
+     * IDs come from a pooled sequence, so Hibernate sends the inserts in JDBC batches.
+     * The cached supplier list is dropped.
+     *
+     * @param suppliers the suppliers to save
+     * @return the saved supplier instances
+     */
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.SUPPLIER_LISTS, allEntries = true)
+    @Transactional
+    public List<Supplier> saveSuppliers(List<Supplier> suppliers) {
+        return supplierRepository.saveAll(suppliers);
+    }
+
     /**
      * Retrieves a list of all suppliers from the database.
+     * Served from the cache after the first call, until a supplier changes or the entry expires.
+     * The cache is filled from the primary database, never from a replica that may lag behind.
      *
      * @return list of all suppliers
      */
     @Override
+    @Cacheable(cacheNames = CacheConfig.SUPPLIER_LISTS, key = "'all'")
     public List<Supplier> getAllSuppliers() {
-        return supplierRepository.findAll();
+        return ReadYourWrites.readFromPrimary(supplierRepository::findAll);
+    }
+
+    /**
+     * Retrieves one keyset page of suppliers ordered by ID.
+     * Rows are projected straight into DTOs in a read-only transaction.
+     *
+     * @param afterId the ID of the last supplier of the previous page, 0 for the first page
+     * @param limit the maximum number of suppliers to return
+     * @return suppliers with an ID greater than {@code afterId}, in ID order
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<SupplierDTO> getSuppliersAfterId(long afterId, int limit) {
+        return supplierRepository.findDtosAfterId(afterId, Limit.of(limit));
     }
 
     /**
      * Retrieves a single supplier by its ID.
+     * Served from the cache after the first lookup, which reads the primary database; IDs that do not exist are not cached.
      *
      * @param id the ID of the supplier
      * @return Optional containing the supplier if found, empty otherwise
      */
     @Override
+    @Cacheable(cacheNames = CacheConfig.SUPPLIERS, key = "#id", unless = "#result == null")
     public Optional<Supplier> getSupplierById(Long id) {
-        return supplierRepository.findById(id);
+        return ReadYourWrites.readFromPrimary(() -> supplierRepository.findById(id));
+    }
+
+    /**
+     * Retrieves a single supplier by its ID as a DTO, without hydrating the entity.
+     *
+     * @param id the ID of the supplier
+     * @return Optional containing the supplier DTO if found, empty otherwise
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<SupplierDTO> getSupplierDtoById(Long id) {
+        return supplierRepository.findDtoById(id);
+    }
+
+    /**
+     * Retrieves only the row version of a supplier, without loading the row itself.
+     *
+     * @param id the ID of the supplier
+     * @return Optional containing the version if the supplier exists, empty otherwise
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Long> getSupplierVersion(Long id) {
+        return supplierRepository.findVersionById(id);
+    }
+
+    /**
+     * Retrieves all suppliers with the given IDs using a single query.
+     * IDs that do not exist are silently skipped.
+     *
+     * @param ids the IDs of the suppliers
+     * @return the suppliers that were found
+     */
+    @Override
+    public List<Supplier> getSuppliersByIds(Collection<Long> ids) {
+        return supplierRepository.findAllById(ids);
     }
 
     /**
      * Deletes a supplier by its ID.
+     * The supplier is removed from the cache and the cached supplier list is dropped.
      *
      * @param id the ID of the supplier to delete
      */
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.SUPPLIERS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.SUPPLIER_LISTS, allEntries = true)
+    })
     public void deleteSupplier(Long id) {
         supplierRepository.deleteById(id);
     }
 
+    /**
+     * Deletes the suppliers with the given IDs with a single statement, without loading them first.
+     * Unless it is a dry run, both supplier caches are dropped. IDs that do not exist are skipped.
+     *
+     * @param ids the IDs of the suppliers to delete
+     * @param dryRun true to only count the suppliers that would be deleted
+     * @return the number of suppliers deleted, or that would be deleted
+     */
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.SUPPLIERS, allEntries = true, condition = "!#dryRun"),
+            @CacheEvict(cacheNames = CacheConfig.SUPPLIER_LISTS, allEntries = true, condition = "!#dryRun")
+    })
+    @Transactional
+    public BulkOperationResultDTO deleteSuppliers(Collection<Long> ids, boolean dryRun) {
+        if (dryRun) {
+            return new BulkOperationResultDTO(true, supplierRepository.countByIdIn(ids), 0);
+        }
+        return new BulkOperationResultDTO(false, supplierRepository.deleteAllByIds(ids), 1);
+    }
+
     /**
      * Updates an existing supplier with new data.
+     * The updated supplier replaces the cached one and the cached supplier list is dropped.
      *
      * @param id the ID of the supplier to update
      * @param updatedSupplier the new supplier data
+     * @param expectedVersion the version the client based its changes on, or null to skip the check
      * @return the updated supplier entity
+     * @throws ObjectOptimisticLockingFailureException if the supplier was modified in the meantime
      * @throws RuntimeException if the supplier with the given ID does not exist
      */
     @Override
-    public Supplier updateSupplier(Long id, Supplier updatedSupplier) {
+    @Caching(put = @CachePut(cacheNames = CacheConfig.SUPPLIERS, key = "#id"),
+            evict = @CacheEvict(cacheNames = CacheConfig.SUPPLIER_LISTS, allEntries = true))
+    public Supplier updateSupplier(Long id, Supplier updatedSupplier, Long expectedVersion) {
         return supplierRepository.findById(id).map(supplier -> {
+            if (expectedVersion != null && expectedVersion != supplier.getVersion()) {
+                throw new ObjectOptimisticLockingFailureException(Supplier.class, id);
+            }
             supplier.setName(updatedSupplier.getName());
             supplier.setContactName(updatedSupplier.getContactName());
             supplier.setEmail(updatedSupplier.getEmail());
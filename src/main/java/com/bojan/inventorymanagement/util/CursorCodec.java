@@ -0,0 +1,86 @@
+package com.bojan.inventorymanagement.util;
+
+import com.bojan.inventorymanagement.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes and decodes the opaque cursors used by keyset paginated endpoints.
+ * A cursor holds the sort key values of the last row of a page, joined with a
+ * unit separator and Base64 (URL safe) encoded, so clients cannot depend on its format.
+ */
+public class CursorCodec {
+
+    private static final String SEPARATOR = "\u001F";
+
+    /**
+     * Encodes the sort key values of a row into an opaque cursor.
+     *
+     * @param keys the sort key values, in sort order
+     * @return the opaque cursor
+     */
+    public static String encode(Object... keys) {
+        StringBuilder raw = new StringBuilder();
+        for (int i = 0; i < keys.length; i++) {
+            if (i > 0) {
+                raw.append(SEPARATOR);
+            }
+            raw.append(keys[i]);
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes an opaque cursor back into its sort key values.
+     *
+     * @param cursor the cursor received from the client
+     * @param expectedKeys the number of sort key values the cursor must contain
+     * @return the sort key values as strings
+     * @throws BadRequestException if the cursor is malformed
+     */
+    public static String[] decode(String cursor, int expectedKeys) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] keys = raw.split(SEPARATOR, -1);
+            if (keys.length != expectedKeys) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            return keys;
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Decodes a cursor that holds a single ID sort key.
+     * A missing cursor means the first page, which starts after ID 0.
+     *
+     * @param cursor the cursor received from the client, may be null
+     * @return the ID of the last row of the previous page
+     * @throws BadRequestException if the cursor is malformed
+     */
+    public static long decodeId(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        return parseId(decode(cursor, 1)[0]);
+    }
+
+    /**
+     * Parses an ID sort key taken from a decoded cursor.
+     *
+     * @param value the decoded ID value
+     * @return the ID
+     * @throws BadRequestException if the value is not a number
+     */
+    public static long parseId(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException ex) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+}
@@ -0,0 +1,101 @@
+package com.bojan.inventorymanagement.util;
+
+import com.bojan.inventorymanagement.dto.CursorPage;
+import com.bojan.inventorymanagement.exception.BadRequestException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Builds weak ETags from row versions.
+ * A row's version changes on every update, so (type, id, version) identifies the state of a
+ * single resource, and the (id, version) pairs of a page together with its next cursor identify
+ * the state of a list page. The same state is sent as JSON, CBOR or Smile, plain or gzip
+ * compressed, so the tags are weak: they mark the representations as equivalent, not as
+ * byte-identical. Tomcat also only compresses responses whose ETag is weak.
+ */
+public class ETags {
+
+    private static final String WEAK_PREFIX = "W/";
+
+    /**
+     * Builds the ETag of a single resource.
+     *
+     * @param type the resource type, e.g. "product"
+     * @param id the ID of the resource
+     * @param version the row version of the resource
+     * @return the weak ETag
+     */
+    public static String ofRow(String type, Long id, long version) {
+        return WEAK_PREFIX + "\"" + type + "-" + id + "-" + version + "\"";
+    }
+
+    /**
+     * Builds the ETag of a list page from the IDs and versions of its items.
+     *
+     * @param type the resource type, e.g. "product"
+     * @param page the page to build the ETag for
+     * @param idOf extracts the ID of an item
+     * @param versionOf extracts the row version of an item
+     * @return the weak ETag
+     */
+    public static <T> String ofPage(String type, CursorPage<T> page, Function<T, Long> idOf, ToLongFunction<T> versionOf) {
+        MessageDigest digest = sha256();
+        digest.update(type.getBytes(StandardCharsets.UTF_8));
+        ByteBuffer buffer = ByteBuffer.allocate(2 * Long.BYTES);
+        for (T item : page.getItems()) {
+            buffer.clear();
+            buffer.putLong(idOf.apply(item)).putLong(versionOf.applyAsLong(item));
+            digest.update(buffer.array());
+        }
+        if (page.getNextCursor() != null) {
+            digest.update(page.getNextCursor().getBytes(StandardCharsets.UTF_8));
+        }
+        byte[] hash = digest.digest();
+        return WEAK_PREFIX + "\"" + type + "s-" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+    }
+
+    /**
+     * Extracts the row version from an If-Match header sent for a single resource.
+     * The version is compared with the row's, so the weak ETags issued by this class are accepted
+     * as well as their strong form.
+     *
+     * @param ifMatch the If-Match header value, may be null
+     * @param type the resource type, e.g. "product"
+     * @param id the ID of the resource
+     * @return the version the client expects, or null if the header is absent or "*"
+     * @throws BadRequestException if the header is not an ETag of this resource
+     */
+    public static Long parseVersion(String ifMatch, String type, Long id) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String prefix = "\"" + type + "-" + id + "-";
+        String tag = ifMatch.trim();
+        if (tag.startsWith(WEAK_PREFIX)) {
+            tag = tag.substring(WEAK_PREFIX.length());
+        }
+        if (!tag.startsWith(prefix) || !tag.endsWith("\"")) {
+            throw new BadRequestException("If-Match does not contain an ETag of this " + type);
+        }
+        try {
+            return Long.parseLong(tag.substring(prefix.length(), tag.length() - 1));
+        } catch (NumberFormatException ex) {
+            throw new BadRequestException("If-Match does not contain an ETag of this " + type);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+}
@@ -0,0 +1,124 @@
+-- ===============================
+-- PostgreSQL specific schema objects that Hibernate does not manage.
+-- Executed on every startup after Hibernate has created/updated the tables,
+-- so every statement must be idempotent. The script is sent as a single batch
+-- (see spring.sql.init.separator), so it may contain dollar-quoted PL/pgSQL bodies.
+-- ===============================
+
+-- ===============================
+-- ID sequences: category, supplier and product IDs come from pooled sequences (allocationSize = 50).
+-- On its first fetch Hibernate's pooled optimizer hands out the 50 IDs up to and including the value
+-- it read, so a sequence must return at least MAX(id) + 50 to stay clear of rows that were inserted
+-- without it, e.g. by the sample data script in the README. Sequences are only ever moved forward.
+-- ===============================
+DO $$
+DECLARE
+    table_name text;
+    sequence_name text;
+    max_id bigint;
+    next_value bigint;
+BEGIN
+    FOREACH table_name IN ARRAY ARRAY['category', 'supplier', 'product'] LOOP
+        sequence_name := table_name || '_seq';
+        EXECUTE format('CREATE SEQUENCE IF NOT EXISTS %I START WITH 1 INCREMENT BY 50', sequence_name);
+        EXECUTE format('SELECT MAX(id) FROM %I', table_name) INTO max_id;
+        EXECUTE format('SELECT CASE WHEN is_called THEN last_value + 50 ELSE last_value END FROM %I', sequence_name)
+            INTO next_value;
+        IF max_id IS NOT NULL AND next_value < max_id + 50 THEN
+            PERFORM setval(sequence_name, max_id + 50, false);
+        END IF;
+    END LOOP;
+END
+$$;
+
+
+-- ===============================
+-- Product search: full-text vector with GIN index, trigram index for typo tolerance
+-- ===============================
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE product ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(name, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(description, '')), 'B')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_product_search_vector ON product USING GIN (search_vector);
+CREATE INDEX IF NOT EXISTS idx_product_name_trgm ON product USING GIN (name gin_trgm_ops);
+
+
+-- ===============================
+-- Stock ledger: stock_movement is range partitioned by month on occurred_at.
+-- Hibernate creates it as a plain table; on first startup that table becomes the
+-- DEFAULT partition of a new partitioned table with the same columns, and products
+-- that existed before the ledger get an opening balance.
+-- ===============================
+
+-- Creates the monthly partitions from the current month up to months_ahead months in the future.
+-- Called on startup and daily by StockMovementPartitionJob.
+CREATE OR REPLACE FUNCTION ensure_stock_movement_partitions(months_ahead integer) RETURNS void AS $$
+DECLARE
+    month_start timestamp;
+BEGIN
+    FOR i IN 0..months_ahead LOOP
+        month_start := date_trunc('month', now() AT TIME ZONE 'UTC') + make_interval(months => i);
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF stock_movement FOR VALUES FROM (%L) TO (%L)',
+                       'stock_movement_' || to_char(month_start, 'YYYY_MM'),
+                       month_start AT TIME ZONE 'UTC',
+                       (month_start + interval '1 month') AT TIME ZONE 'UTC');
+    END LOOP;
+END
+$$ LANGUAGE plpgsql;
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace
+               WHERE c.relname = 'stock_movement' AND c.relkind = 'r' AND n.nspname = current_schema()) THEN
+        ALTER TABLE stock_movement RENAME TO stock_movement_default;
+        ALTER TABLE stock_movement_default RENAME CONSTRAINT stock_movement_pkey TO stock_movement_default_pkey;
+        ALTER INDEX IF EXISTS idx_stock_movement_product_time RENAME TO idx_stock_movement_default_product_time;
+        CREATE TABLE stock_movement (LIKE stock_movement_default INCLUDING DEFAULTS) PARTITION BY RANGE (occurred_at);
+        -- The partition key must be part of the primary key
+        ALTER TABLE stock_movement ADD PRIMARY KEY (id, occurred_at);
+        CREATE INDEX idx_stock_movement_product_time ON stock_movement (product_id, occurred_at);
+        ALTER TABLE stock_movement ATTACH PARTITION stock_movement_default DEFAULT;
+
+        -- Runs once, together with the conversion: later runs must not add a second opening balance
+        -- for products whose movements were archived by detaching their partitions.
+        -- The current month's partition must exist first, a row in the DEFAULT partition would block its creation.
+        PERFORM ensure_stock_movement_partitions(0);
+        INSERT INTO stock_movement (id, product_id, type, quantity_change, reason, occurred_at)
+        SELECT nextval('stock_movement_seq'), p.id, 'ADJUSTMENT', p.quantity, 'Opening balance', now()
+        FROM product p
+        WHERE p.quantity <> 0;
+    END IF;
+END
+$$;
+
+SELECT ensure_stock_movement_partitions(3);
+
+-- Every movement is queued for the snapshots when it is recorded. This queues the ones recorded
+-- without it since the latest snapshot run: the opening balance above, and on upgrade the
+-- movements recorded before snapshots were built from the queue.
+INSERT INTO pending_snapshot_movement (id, movement_id, product_id, quantity_change, occurred_at)
+SELECT nextval('pending_snapshot_movement_seq'), m.id, m.product_id, m.quantity_change, m.occurred_at
+FROM stock_movement m
+WHERE m.occurred_at > COALESCE((SELECT MAX(s.taken_at) FROM stock_snapshot s), '-infinity')
+  AND NOT EXISTS (SELECT 1 FROM pending_snapshot_movement q WHERE q.movement_id = m.id)
+ON CONFLICT (movement_id) DO NOTHING;
+
+
+-- ===============================
+-- CSV import: the staging table only holds rows of running imports, so it skips the WAL.
+-- Its content is lost on a crash, which only aborts the imports that were running.
+-- ===============================
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_class WHERE relname = 'product_import_staging' AND relpersistence = 'p') THEN
+        ALTER TABLE product_import_staging SET UNLOGGED;
+    END IF;
+END
+$$;
+
+-- Superseded by idx_product_supplier_name, which also serves the import's (supplier, name) lookups
+DROP INDEX IF EXISTS idx_product_supplier;
@@ -0,0 +1,44 @@
+package com.bojan.inventorymanagement;
+
+import com.bojan.inventorymanagement.model.Category;
+import com.bojan.inventorymanagement.model.Product;
+import com.bojan.inventorymanagement.model.Supplier;
+
+import java.math.BigDecimal;
+
+/**
+ * The category, supplier and product most tests start from. Each method returns a builder of a new,
+ * unsaved entity, so a test can adjust it before saving. The tables are emptied before every test by
+ * {@code clean-database.sql}.
+ */
+public final class TestData {
+
+    private TestData() {
+    }
+
+    public static Category.CategoryBuilder electronics() {
+        return Category.builder()
+                .name("Electronics")
+                .description("Devices and gadgets");
+    }
+
+    public static Supplier.SupplierBuilder techWarehouse() {
+        return Supplier.builder()
+                .name("Tech Warehouse")
+                .contactName("Alice Smith")
+                .email("alice@tech.com")
+                .phone("123-456-7890")
+                .address("123 Oak Street");
+    }
+
+    public static Product.ProductBuilder laptop(Category category, Supplier supplier) {
+        return Product.builder()
+                .name("Laptop")
+                .description("High-end gaming laptop")
+                .price(new BigDecimal("1500.00"))
+                .quantity(10)
+                .category(category)
+                .supplier(supplier);
+    }
+
+}
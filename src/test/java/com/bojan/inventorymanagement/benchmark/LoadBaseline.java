@@ -0,0 +1,117 @@
+package com.bojan.inventorymanagement.benchmark;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Saved reference results of a load test, used to fail the build on performance regressions.
+ * Stores per operation the throughput, the p50/p95/p99 latency and the error rate as properties,
+ * e.g. {@code product.get.p95=12.5}.
+ */
+final class LoadBaseline {
+
+    private final Properties values;
+
+    private LoadBaseline(Properties values) {
+        this.values = values;
+    }
+
+    /**
+     * Reads a baseline file.
+     *
+     * @param file the baseline file
+     * @return the baseline, or null if the file does not exist
+     */
+    static LoadBaseline load(Path file) throws IOException {
+        if (Files.notExists(file)) {
+            return null;
+        }
+        Properties values = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            values.load(reader);
+        }
+        return new LoadBaseline(values);
+    }
+
+    /**
+     * Saves the results of a run as the new baseline.
+     *
+     * @param report the results to save
+     * @param file the baseline file
+     * @param comment describes how and where the baseline was recorded
+     */
+    static void save(LoadReport report, Path file, String comment) throws IOException {
+        TreeMap<String, String> values = new TreeMap<>();
+        for (String operation : report.names()) {
+            LoadReport.Stats stats = report.stats(operation);
+            values.put(operation + ".throughput", format(stats.throughput(report.duration())));
+            values.put(operation + ".p50", format(stats.percentile(50)));
+            values.put(operation + ".p95", format(stats.percentile(95)));
+            values.put(operation + ".p99", format(stats.percentile(99)));
+            values.put(operation + ".error-rate", format(stats.errorRate()));
+        }
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (Writer writer = Files.newBufferedWriter(file)) {
+            writer.write("# " + comment + "\n");
+            for (var entry : values.entrySet()) {
+                writer.write(entry.getKey() + "=" + entry.getValue() + "\n");
+            }
+        }
+    }
+
+    /**
+     * Compares a run with the baseline.
+     * Latency percentiles may exceed their baseline and throughput may fall below it by the given
+     * tolerance; the error rate may exceed its baseline by at most one percentage point.
+     *
+     * @param report the results of the run
+     * @param tolerance the accepted relative deviation, e.g. 0.3 for 30 %
+     * @return a description of every regression, empty if there is none
+     */
+    List<String> regressions(LoadReport report, double tolerance) {
+        List<String> regressions = new ArrayList<>();
+        for (String operation : report.names()) {
+            LoadReport.Stats stats = report.stats(operation);
+            for (int percentile : new int[]{50, 95, 99}) {
+                check(regressions, operation + ".p" + percentile, stats.percentile(percentile), 1 + tolerance, true);
+            }
+            check(regressions, operation + ".throughput", stats.throughput(report.duration()), 1 - tolerance, false);
+            Double errorRate = value(operation + ".error-rate");
+            if (errorRate != null && stats.errorRate() > errorRate + 0.01) {
+                regressions.add(String.format(Locale.ROOT, "%s.error-rate %.4f exceeds baseline %.4f",
+                        operation, stats.errorRate(), errorRate));
+            }
+        }
+        return regressions;
+    }
+
+    private void check(List<String> regressions, String key, double actual, double factor, boolean upperBound) {
+        Double baseline = value(key);
+        if (baseline == null || baseline.isNaN()) {
+            return;
+        }
+        double limit = baseline * factor;
+        if (upperBound ? actual > limit : actual < limit) {
+            regressions.add(String.format(Locale.ROOT, "%s %.2f is %s the limit %.2f (baseline %.2f)",
+                    key, actual, upperBound ? "above" : "below", limit, baseline));
+        }
+    }
+
+    private Double value(String key) {
+        String value = values.getProperty(key);
+        return value == null ? null : Double.valueOf(value);
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.4f", value);
+    }
+
+}
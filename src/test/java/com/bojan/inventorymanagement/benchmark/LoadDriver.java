@@ -0,0 +1,125 @@
+package com.bojan.inventorymanagement.benchmark;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-loop HTTP load generator shared by the load benchmarks and the load tests.
+ * Every simulated client has exactly one request in flight and sends its next request, an operation
+ * picked by weight, as soon as the previous one completed. Requests are sent asynchronously, so
+ * thousands of clients do not need thousands of threads.
+ */
+final class LoadDriver {
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    private final List<Operation> operations;
+
+    private final int totalWeight;
+
+    LoadDriver(List<Operation> operations) {
+        this.operations = List.copyOf(operations);
+        this.totalWeight = operations.stream().mapToInt(Operation::weight).sum();
+    }
+
+    /**
+     * Runs the given number of clients for the given duration and collects the latencies.
+     *
+     * @param clients the number of concurrent clients
+     * @param duration how long new requests are started
+     * @return the per-operation results
+     */
+    LoadReport run(int clients, Duration duration) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        CountDownLatch finished = new CountDownLatch(clients);
+        List<Recorder[]> recorders = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            Recorder[] clientRecorders = new Recorder[operations.size()];
+            Arrays.setAll(clientRecorders, index -> new Recorder());
+            recorders.add(clientRecorders);
+            next(clientRecorders, deadline, finished);
+        }
+        if (!finished.await(duration.toSeconds() + Operation.REQUEST_TIMEOUT.toSeconds() + 30, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Load run did not finish in time");
+        }
+
+        Map<String, LoadReport.Stats> stats = new LinkedHashMap<>();
+        for (int op = 0; op < operations.size(); op++) {
+            int index = op;
+            long errors = recorders.stream().mapToLong(clientRecorders -> clientRecorders[index].errors).sum();
+            long[] latencies = recorders.stream()
+                    .flatMapToLong(clientRecorders -> Arrays.stream(clientRecorders[index].latencies, 0, clientRecorders[index].count))
+                    .sorted()
+                    .toArray();
+            stats.put(operations.get(op).name(), new LoadReport.Stats(latencies, errors));
+        }
+        return new LoadReport(clients, duration, stats);
+    }
+
+    /**
+     * Sends the next request of a client, unless its time is up.
+     * A client's recorders are only updated from its own request chain, so never concurrently.
+     */
+    private void next(Recorder[] clientRecorders, long deadline, CountDownLatch finished) {
+        if (System.nanoTime() >= deadline) {
+            finished.countDown();
+            return;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int op = pick(random);
+        Operation operation = operations.get(op);
+        long start = System.nanoTime();
+        client.sendAsync(operation.request().apply(random), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    if (error == null && operation.expectedStatuses().contains(response.statusCode())) {
+                        clientRecorders[op].add(System.nanoTime() - start);
+                    } else {
+                        clientRecorders[op].errors++;
+                    }
+                    next(clientRecorders, deadline, finished);
+                });
+    }
+
+    private int pick(ThreadLocalRandom random) {
+        int value = random.nextInt(totalWeight);
+        for (int op = 0; op < operations.size(); op++) {
+            value -= operations.get(op).weight();
+            if (value < 0) {
+                return op;
+            }
+        }
+        throw new IllegalStateException("Operation weights must be positive");
+    }
+
+    /**
+     * Latencies of the successful requests of one operation of one client, in nanoseconds.
+     */
+    private static final class Recorder {
+
+        private long[] latencies = new long[256];
+
+        private int count;
+
+        private long errors;
+
+        void add(long latency) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latency;
+        }
+
+    }
+
+}
@@ -0,0 +1,120 @@
+package com.bojan.inventorymanagement.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+/**
+ * Outcome of one load run: throughput, latency percentiles and error rate per operation and overall.
+ *
+ * @param clients the number of concurrent clients
+ * @param duration the measured duration
+ * @param operations the statistics per operation, in workload order
+ */
+record LoadReport(int clients, Duration duration, Map<String, Stats> operations) {
+
+    static final String OVERALL = "overall";
+
+    private static final String CSV_HEADER = "run,clients,operation,requests,errors,error_rate,throughput,p50_ms,p95_ms,p99_ms\n";
+
+    /**
+     * Statistics over all operations.
+     */
+    Stats overall() {
+        long[] latencies = operations.values().stream()
+                .flatMapToLong(stats -> LongStream.of(stats.sortedLatencies()))
+                .sorted()
+                .toArray();
+        return new Stats(latencies, operations.values().stream().mapToLong(Stats::errors).sum());
+    }
+
+    /**
+     * Statistics of one operation, or of all operations for {@link #OVERALL}.
+     */
+    Stats stats(String operation) {
+        return OVERALL.equals(operation) ? overall() : operations.get(operation);
+    }
+
+    /**
+     * Formats the report as a table, one line per operation plus the overall line.
+     */
+    String format() {
+        StringBuilder table = new StringBuilder(String.format(Locale.ROOT, "%-18s %10s %8s %8s %10s %9s %9s %9s%n",
+                "operation", "requests", "errors", "err %", "req/s", "p50 ms", "p95 ms", "p99 ms"));
+        for (String operation : names()) {
+            Stats stats = stats(operation);
+            table.append(String.format(Locale.ROOT, "%-18s %10d %8d %8.2f %10.1f %9.2f %9.2f %9.2f%n",
+                    operation, stats.requests(), stats.errors(), stats.errorRate() * 100, stats.throughput(duration),
+                    stats.percentile(50), stats.percentile(95), stats.percentile(99)));
+        }
+        return table.toString();
+    }
+
+    /**
+     * Appends the report to a CSV file, creating the file with a header if needed.
+     *
+     * @param file the CSV file
+     * @param run a label for the run, e.g. the threading mode
+     */
+    void appendCsv(Path file, String run) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        if (Files.notExists(file)) {
+            Files.writeString(file, CSV_HEADER);
+        }
+        StringBuilder lines = new StringBuilder();
+        for (String operation : names()) {
+            Stats stats = stats(operation);
+            lines.append(String.format(Locale.ROOT, "%s,%d,%s,%d,%d,%.4f,%.1f,%.2f,%.2f,%.2f%n", run, clients, operation,
+                    stats.requests(), stats.errors(), stats.errorRate(), stats.throughput(duration),
+                    stats.percentile(50), stats.percentile(95), stats.percentile(99)));
+        }
+        Files.writeString(file, lines, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * The operation names followed by {@link #OVERALL}.
+     */
+    List<String> names() {
+        List<String> names = new ArrayList<>(operations.keySet());
+        names.add(OVERALL);
+        return names;
+    }
+
+    /**
+     * Latencies of the successful requests, in nanoseconds and sorted, and the number of failed requests.
+     */
+    record Stats(long[] sortedLatencies, long errors) {
+
+        long requests() {
+            return sortedLatencies.length + errors;
+        }
+
+        double errorRate() {
+            return requests() == 0 ? 0 : errors / (double) requests();
+        }
+
+        double throughput(Duration duration) {
+            return sortedLatencies.length / (duration.toMillis() / 1000.0);
+        }
+
+        /**
+         * The latency below which the given percentage of successful requests completed, in milliseconds.
+         */
+        double percentile(int percentile) {
+            if (sortedLatencies.length == 0) {
+                return Double.NaN;
+            }
+            int index = (int) Math.ceil(percentile / 100.0 * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(index, 0)] / 1_000_000.0;
+        }
+
+    }
+
+}
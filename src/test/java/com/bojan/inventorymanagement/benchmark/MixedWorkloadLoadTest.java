@@ -0,0 +1,178 @@
+package com.bojan.inventorymanagement.benchmark;
+
+import com.bojan.inventorymanagement.model.Category;
+import com.bojan.inventorymanagement.model.Product;
+import com.bojan.inventorymanagement.model.Supplier;
+import com.bojan.inventorymanagement.repository.CategoryRepository;
+import com.bojan.inventorymanagement.repository.ProductRepository;
+import com.bojan.inventorymanagement.repository.SupplierRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end load test of the REST API with a mixed read/write workload.
+ * Starts the application against the H2 stand-in database, seeds a synthetic catalog and drives
+ * product, category and supplier reads and writes with closed-loop clients. The throughput,
+ * p50/p95/p99 latency and error rate per operation are printed, appended to
+ * {@code target/loadtest/mixed-workload.csv} and compared with the saved baseline; a regression
+ * beyond the tolerance fails the build.
+ *
+ * <p>Not part of the regular build; run with {@code mvn -Ploadtest test}. Record a new baseline on
+ * the machine that runs the check with {@code -Dloadtest.record-baseline=true}. Tunables:
+ * {@code loadtest.products}, {@code loadtest.categories}, {@code loadtest.suppliers},
+ * {@code loadtest.clients}, {@code loadtest.warmup-seconds}, {@code loadtest.duration-seconds},
+ * {@code loadtest.tolerance} and {@code loadtest.baseline} (the baseline file).
+ */
+@Tag("loadtest")
+// Statistics would log a report for every request and dominate the measurement
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=false")
+@ActiveProfiles("test")
+class MixedWorkloadLoadTest {
+
+    private static final int PRODUCTS = Integer.getInteger("loadtest.products", 5000);
+    private static final int CATEGORIES = Integer.getInteger("loadtest.categories", 20);
+    private static final int SUPPLIERS = Integer.getInteger("loadtest.suppliers", 20);
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 50);
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 10));
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 30));
+    private static final double TOLERANCE = Double.parseDouble(System.getProperty("loadtest.tolerance", "0.5"));
+    private static final Path BASELINE = Path.of(System.getProperty("loadtest.baseline",
+            "src/test/resources/loadtest/mixed-workload-baseline.properties"));
+    private static final Path RESULTS = Path.of("target", "loadtest", "mixed-workload.csv");
+
+    private static final String JSON = "application/json";
+    private static final String MERGE_PATCH = "application/merge-patch+json";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    private final List<Long> productIds = new ArrayList<>();
+
+    private final List<Long> categoryIds = new ArrayList<>();
+
+    private final List<Long> supplierIds = new ArrayList<>();
+
+    @Test
+    void mixedWorkloadMeetsBaseline() throws Exception {
+        seedCatalog();
+        LoadDriver driver = new LoadDriver(workload());
+        driver.run(CLIENTS, WARMUP);
+        LoadReport report = driver.run(CLIENTS, DURATION);
+
+        System.out.printf("%nMixed workload: %d clients, %d s, %d products%n%s", CLIENTS, DURATION.toSeconds(), PRODUCTS,
+                report.format());
+        report.appendCsv(RESULTS, Instant.now().toString());
+
+        if (Boolean.getBoolean("loadtest.record-baseline")) {
+            LoadBaseline.save(report, BASELINE, String.format(Locale.ROOT,
+                    "Recorded %s with %d clients, %d s, %d products, Java %d, %d CPUs", Instant.now(), CLIENTS,
+                    DURATION.toSeconds(), PRODUCTS, Runtime.version().feature(), Runtime.getRuntime().availableProcessors()));
+            System.out.println("Baseline saved to " + BASELINE);
+            return;
+        }
+        LoadBaseline baseline = LoadBaseline.load(BASELINE);
+        if (baseline == null) {
+            System.out.println("No baseline at " + BASELINE + ", record one with -Dloadtest.record-baseline=true");
+            return;
+        }
+        List<String> regressions = baseline.regressions(report, TOLERANCE);
+        assertTrue(regressions.isEmpty(), "Performance regressed against " + BASELINE + ":\n" + String.join("\n", regressions));
+    }
+
+    /**
+     * Read-heavy mix of the product, category and supplier endpoints: about 80 % reads and 20 % writes.
+     * Concurrent updates of the same product may legitimately be rejected with 409 Conflict.
+     */
+    private List<Operation> workload() {
+        return List.of(
+                Operation.get("product.list", 20, random -> uri("/api/product?limit=50")),
+                Operation.get("product.filter", 10, random -> uri("/api/product?limit=50&categoryId=" + pick(categoryIds, random))),
+                Operation.get("product.get", 30, random -> uri("/api/product/" + pick(productIds, random))),
+                Operation.get("category.list", 5, random -> uri("/api/category?limit=50")),
+                Operation.get("category.get", 5, random -> uri("/api/category/" + pick(categoryIds, random))),
+                Operation.get("supplier.list", 5, random -> uri("/api/supplier?limit=50")),
+                Operation.get("supplier.get", 5, random -> uri("/api/supplier/" + pick(supplierIds, random))),
+                Operation.json("product.create", 10, "POST", JSON, random -> uri("/api/product"),
+                        random -> String.format(Locale.ROOT, "{\"name\": \"Load product %d\", \"description\": \"Created by the load test\", "
+                                        + "\"price\": %d.99, \"quantity\": %d, \"unit\": \"pcs\", \"categoryId\": %d, \"supplierId\": %d}",
+                                random.nextInt(1_000_000), 1 + random.nextInt(500), random.nextInt(100),
+                                pick(categoryIds, random), pick(supplierIds, random)),
+                        Set.of(200)),
+                Operation.json("product.patch", 8, "PATCH", MERGE_PATCH, random -> uri("/api/product/" + pick(productIds, random)),
+                        random -> String.format(Locale.ROOT, "{\"price\": %d.49, \"quantity\": %d}", 1 + random.nextInt(500), random.nextInt(100)),
+                        Set.of(200, 409)),
+                Operation.json("category.create", 1, "POST", JSON, random -> uri("/api/category"),
+                        random -> "{\"name\": \"Load category " + random.nextInt(1_000_000) + "\", \"description\": \"Load test\"}",
+                        Set.of(200)),
+                Operation.json("supplier.create", 1, "POST", JSON, random -> uri("/api/supplier"),
+                        random -> "{\"name\": \"Load supplier " + random.nextInt(1_000_000) + "\", \"contactName\": \"Load\", "
+                                + "\"email\": \"load@example.com\", \"phone\": \"555-0100\", \"address\": \"1 Load Lane\"}",
+                        Set.of(200)));
+    }
+
+    private void seedCatalog() {
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < CATEGORIES; i++) {
+            categories.add(Category.builder().name("Category " + i).description("Synthetic category " + i).reorderThreshold(i % 10).build());
+        }
+        categoryRepository.saveAll(categories).forEach(category -> categoryIds.add(category.getId()));
+        List<Supplier> suppliers = new ArrayList<>();
+        for (int i = 0; i < SUPPLIERS; i++) {
+            suppliers.add(Supplier.builder()
+                    .name("Supplier " + i).contactName("Contact " + i).email("supplier" + i + "@example.com")
+                    .phone("555-" + (1000 + i)).address(i + " Supply Road")
+                    .build());
+        }
+        supplierRepository.saveAll(suppliers).forEach(supplier -> supplierIds.add(supplier.getId()));
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Product> batch = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            batch.add(Product.builder()
+                    .name("Product " + i).description("Synthetic product " + i)
+                    .price(BigDecimal.valueOf(100 + random.nextInt(100_000), 2)).quantity(random.nextInt(200)).unit("pcs")
+                    .category(categories.get(random.nextInt(CATEGORIES))).supplier(suppliers.get(random.nextInt(SUPPLIERS)))
+                    .build());
+            if (batch.size() == 1000 || i == PRODUCTS - 1) {
+                productRepository.saveAll(batch).forEach(product -> productIds.add(product.getId()));
+                batch.clear();
+            }
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static long pick(List<Long> ids, ThreadLocalRandom random) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+}
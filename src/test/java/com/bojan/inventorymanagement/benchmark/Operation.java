@@ -0,0 +1,44 @@
+package com.bojan.inventorymanagement.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * One kind of request of a load workload, e.g. "fetch a random product".
+ *
+ * @param name the name the operation is reported under
+ * @param weight the relative frequency of the operation within the workload
+ * @param request builds the next request of the operation
+ * @param expectedStatuses the response statuses that count as success
+ */
+record Operation(String name, int weight, Function<ThreadLocalRandom, HttpRequest> request, Set<Integer> expectedStatuses) {
+
+    static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    /**
+     * A GET request that must be answered with 200 OK.
+     */
+    static Operation get(String name, int weight, Function<ThreadLocalRandom, URI> uri) {
+        return new Operation(name, weight, random -> HttpRequest.newBuilder(uri.apply(random))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build(), Set.of(200));
+    }
+
+    /**
+     * A request with a JSON body.
+     */
+    static Operation json(String name, int weight, String method, String contentType, Function<ThreadLocalRandom, URI> uri,
+                          Function<ThreadLocalRandom, String> body, Set<Integer> expectedStatuses) {
+        return new Operation(name, weight, random -> HttpRequest.newBuilder(uri.apply(random))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", contentType)
+                .method(method, HttpRequest.BodyPublishers.ofString(body.apply(random)))
+                .build(), expectedStatuses);
+    }
+
+}
@@ -0,0 +1,146 @@
+package com.bojan.inventorymanagement.benchmark;
+
+import com.bojan.inventorymanagement.model.Category;
+import com.bojan.inventorymanagement.model.Product;
+import com.bojan.inventorymanagement.model.Supplier;
+import com.bojan.inventorymanagement.repository.CategoryRepository;
+import com.bojan.inventorymanagement.repository.ProductRepository;
+import com.bojan.inventorymanagement.repository.SupplierRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Closed-loop load benchmark of the product read endpoints, comparing the default platform thread
+ * mode with the virtual thread mode at 50, 500 and 5000 concurrent clients.
+ * Every client sends its next request as soon as the previous one completed; after a warm-up the
+ * throughput and the p50/p99 latency are measured per concurrency level and appended to
+ * {@code target/benchmark/product-endpoints.csv}.
+ *
+ * <p>Not part of the regular build; run both modes with
+ * {@code mvn -Pbenchmark test} and {@code mvn -Pbenchmark,virtual-threads test}. The tests' H2
+ * database answers in microseconds and uses {@code synchronized} internally, so for meaningful
+ * numbers point it at a scratch PostgreSQL database, e.g. {@code -Dspring.datasource.url=jdbc:postgresql://localhost:5432/bench
+ * -Dspring.datasource.driver-class-name=org.postgresql.Driver -Dspring.datasource.username=... -Dspring.datasource.password=...}.
+ * Tunables:
+ * {@code benchmark.clients} (comma separated), {@code benchmark.products},
+ * {@code benchmark.warmup-seconds} and {@code benchmark.duration-seconds}.
+ */
+@Tag("benchmark")
+// Statistics would log a report for every request and dominate the measurement
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=false")
+@ActiveProfiles("test")
+class ProductEndpointLoadBenchmark {
+
+    private static final int[] CLIENTS = Arrays.stream(System.getProperty("benchmark.clients", "50,500,5000").split(","))
+            .mapToInt(value -> Integer.parseInt(value.trim()))
+            .toArray();
+    private static final int PRODUCTS = Integer.getInteger("benchmark.products", 10_000);
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("benchmark.warmup-seconds", 10));
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("benchmark.duration-seconds", 30));
+    private static final Path RESULTS = Path.of("target", "benchmark", "product-endpoints.csv");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    private long minProductId;
+
+    private long categoryId;
+
+    @Test
+    void productReadEndpoints() throws Exception {
+        seedCatalog();
+        boolean virtual = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)
+                && Runtime.version().feature() >= 21;
+        String mode = virtual ? "virtual" : "platform";
+        System.out.printf("%nProduct endpoints, %s threads, Java %s, Hikari pool %s%n", mode, Runtime.version().feature(),
+                environment.getProperty("spring.datasource.hikari.maximum-pool-size", "10"));
+        System.out.printf("%8s %10s %8s %12s %10s %10s%n", "clients", "requests", "errors", "req/s", "p50 ms", "p99 ms");
+
+        LoadDriver driver = new LoadDriver(workload());
+        for (int clients : CLIENTS) {
+            driver.run(clients, WARMUP);
+            LoadReport.Stats result = driver.run(clients, DURATION).overall();
+            System.out.printf("%8d %10d %8d %12.1f %10.2f %10.2f%n", clients, result.requests(), result.errors(),
+                    result.throughput(DURATION), result.percentile(50), result.percentile(99));
+            record(mode, clients, result);
+        }
+    }
+
+    /**
+     * The product read endpoints in equal parts: a list page, a filtered list page and a single product.
+     */
+    private List<Operation> workload() {
+        return List.of(
+                Operation.get("product.list", 1, random -> uri("/api/product?limit=50")),
+                Operation.get("product.filter", 1, random -> uri("/api/product?limit=50&categoryId=" + categoryId)),
+                Operation.get("product.get", 1, random -> uri("/api/product/" + (minProductId + random.nextInt(PRODUCTS)))));
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private void seedCatalog() {
+        productRepository.deleteAllInBatch();
+        Category category = categoryRepository.save(Category.builder().name("Benchmark").description("Benchmark data").build());
+        Supplier supplier = supplierRepository.save(Supplier.builder()
+                .name("Benchmark Supplier").contactName("Bench").email("bench@example.com").phone("555-0100").address("1 Load Lane")
+                .build());
+        categoryId = category.getId();
+        List<Product> batch = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            batch.add(Product.builder()
+                    .name("Product " + i).description("Benchmark product " + i)
+                    .price(BigDecimal.valueOf(1 + i % 500)).quantity(i % 100).unit("pcs")
+                    .category(category).supplier(supplier)
+                    .build());
+            if (batch.size() == 1000 || i == PRODUCTS - 1) {
+                List<Product> saved = productRepository.saveAll(batch);
+                if (i < 1000) {
+                    minProductId = saved.get(0).getId();
+                }
+                batch.clear();
+            }
+        }
+    }
+
+    private static void record(String mode, int clients, LoadReport.Stats result) throws IOException {
+        Files.createDirectories(RESULTS.getParent());
+        if (Files.notExists(RESULTS)) {
+            Files.writeString(RESULTS, "mode,java,clients,requests,errors,throughput,p50_ms,p99_ms\n");
+        }
+        Files.writeString(RESULTS, String.format("%s,%d,%d,%d,%d,%.1f,%.2f,%.2f%n", mode, Runtime.version().feature(), clients,
+                result.requests(), result.errors(), result.throughput(DURATION), result.percentile(50), result.percentile(99)),
+                StandardOpenOption.APPEND);
+    }
+
+}
@@ -0,0 +1,221 @@
+package com.bojan.inventorymanagement.controller;
+
+import com.bojan.inventorymanagement.TestData;
+import com.bojan.inventorymanagement.model.Category;
+import com.bojan.inventorymanagement.model.MovementType;
+import com.bojan.inventorymanagement.model.Product;
+import com.bojan.inventorymanagement.model.Supplier;
+import com.bojan.inventorymanagement.repository.CategoryRepository;
+import com.bojan.inventorymanagement.repository.ProductRepository;
+import com.bojan.inventorymanagement.repository.StockMovementRepository;
+import com.bojan.inventorymanagement.repository.SupplierRepository;
+import com.bojan.inventorymanagement.service.InventoryValuationService;
+import com.bojan.inventorymanagement.service.StockLedgerService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies the set-based bulk delete and bulk price endpoints: dry runs, chunking, rounding and
+ * the side effects on alerts, valuation and the stock ledger.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Sql("/clean-database.sql")
+class BulkOperationTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private StockMovementRepository movementRepository;
+
+    @Autowired
+    private StockLedgerService ledgerService;
+
+    @Autowired
+    private InventoryValuationService valuationService;
+
+    private Category tools;
+
+    private Category toys;
+
+    private Supplier supplier;
+
+    @BeforeEach
+    void seedReferences() {
+        tools = categoryRepository.save(Category.builder().name("Tools").description("Hand tools").reorderThreshold(5).build());
+        toys = categoryRepository.save(Category.builder().name("Toys").description("Games").build());
+        supplier = supplierRepository.save(TestData.techWarehouse().build());
+    }
+
+    @Test
+    void deleteByFilterRemovesProductsInChunks() throws Exception {
+        List<Long> ids = createProducts(tools, "10.00", "10.00", "10.00", "10.00", "10.00");
+        createProducts(toys, "20.00");
+        mockMvc.perform(get("/api/alerts"))
+                .andExpect(jsonPath("$.items.length()").value(5));
+
+        String request = "{\"filter\": {\"categoryId\": " + tools.getId() + "}, \"chunkSize\": 2";
+        bulk("/api/product/bulk-delete", request + ", \"dryRun\": true}")
+                .andExpect(jsonPath("$.dryRun").value(true))
+                .andExpect(jsonPath("$.affected").value(5))
+                .andExpect(jsonPath("$.chunks").value(0));
+        assertEquals(6, productRepository.count());
+
+        bulk("/api/product/bulk-delete", request + "}")
+                .andExpect(jsonPath("$.dryRun").value(false))
+                .andExpect(jsonPath("$.affected").value(5))
+                .andExpect(jsonPath("$.chunks").value(3));
+
+        List<Product> remaining = productRepository.findAll();
+        assertEquals(1, remaining.size());
+        assertEquals(toys.getId(), remaining.get(0).getCategory().getId());
+        mockMvc.perform(get("/api/alerts"))
+                .andExpect(jsonPath("$.items.length()").value(0));
+        mockMvc.perform(get("/api/reports/valuation"))
+                .andExpect(jsonPath("$.total.value").value(40.00))
+                .andExpect(jsonPath("$.total.quantity").value(2))
+                .andExpect(jsonPath("$.total.productCount").value(1));
+        assertEquals(0, valuationService.reconcile());
+        // Every deleted product's stock was booked out
+        assertEquals(5, movementRepository.findAll().stream()
+                .filter(movement -> "Product deleted".equals(movement.getReason()))
+                .filter(movement -> movement.getType() == MovementType.ADJUSTMENT && movement.getQuantityChange() == -2)
+                .count());
+        // The removals reach the snapshots like any other movement
+        assertEquals(6, ledgerService.takeSnapshots());
+        assertEquals(0, ledgerService.getQuantityAsOf(ids.get(0), Instant.now().plus(Duration.ofHours(1))));
+    }
+
+    @Test
+    void deleteByIdsSkipsMissingProducts() throws Exception {
+        List<Long> ids = createProducts(tools, "10.00", "10.00", "10.00");
+
+        bulk("/api/product/bulk-delete", "{\"ids\": [" + ids.get(0) + ", " + ids.get(2) + ", 999999]}")
+                .andExpect(jsonPath("$.affected").value(2))
+                .andExpect(jsonPath("$.chunks").value(1));
+        assertEquals(List.of(ids.get(1)), productRepository.findAll().stream().map(Product::getId).toList());
+
+        bulk("/api/product/bulk-delete", "{\"filter\": {}}", 400);
+        bulk("/api/product/bulk-delete", "{\"ids\": [" + ids.get(1) + "], \"filter\": {\"unit\": \"pcs\"}}", 400);
+    }
+
+    @Test
+    void priceChangeRoundsAndBumpsVersions() throws Exception {
+        List<Long> ids = createProducts(tools, "10.00", "9.99", "0.01");
+        createProducts(toys, "20.00");
+
+        String request = "{\"categoryId\": " + tools.getId() + ", \"percent\": 5, \"chunkSize\": 2";
+        bulk("/api/product/bulk-price", request + ", \"dryRun\": true}")
+                .andExpect(jsonPath("$.affected").value(3));
+        bulk("/api/product/bulk-price", request + "}")
+                .andExpect(jsonPath("$.affected").value(3))
+                .andExpect(jsonPath("$.chunks").value(2));
+        // Half up to cents: 10.50, 10.4895 and 0.0105
+        assertEquals(List.of("10.50", "10.49", "0.01"), prices(ids));
+        assertEquals(List.of(1L, 1L, 1L), ids.stream().map(id -> productRepository.findById(id).orElseThrow().getVersion()).toList());
+
+        // Down to whole units, but never below a cent: 9.45, 9.441 and 0.009
+        bulk("/api/product/bulk-price", "{\"categoryId\": " + tools.getId() + ", \"supplierId\": " + supplier.getId()
+                + ", \"percent\": -10, \"scale\": 0, \"roundingMode\": \"FLOOR\"}")
+                .andExpect(jsonPath("$.affected").value(3));
+        assertEquals(List.of("9.00", "9.00", "0.01"), prices(ids));
+
+        mockMvc.perform(get("/api/reports/valuation"))
+                .andExpect(jsonPath("$.total.value").value(76.02));
+        assertEquals(0, valuationService.reconcile());
+
+        bulk("/api/product/bulk-price", "{\"percent\": 5}", 400);
+        bulk("/api/product/bulk-price", "{\"categoryId\": " + tools.getId() + ", \"percent\": 5, \"roundingMode\": \"HALF_EVEN\"}", 400);
+    }
+
+    @Test
+    void deleteCategoriesByIds() throws Exception {
+        mockMvc.perform(get("/api/category/" + toys.getId()))
+                .andExpect(status().isOk());
+
+        String request = "{\"ids\": [" + tools.getId() + ", " + toys.getId() + "]";
+        bulk("/api/category/bulk-delete", request + ", \"dryRun\": true}")
+                .andExpect(jsonPath("$.affected").value(2));
+        bulk("/api/category/bulk-delete", request + "}")
+                .andExpect(jsonPath("$.affected").value(2));
+
+        assertEquals(0, categoryRepository.count());
+        mockMvc.perform(get("/api/category/" + toys.getId()))
+                .andExpect(status().isNotFound());
+        bulk("/api/supplier/bulk-delete", "{\"filter\": {\"unit\": \"pcs\"}}", 400);
+    }
+
+    /**
+     * Creates one product per price in the category, each with 2 units in stock, and returns their IDs in order.
+     */
+    private List<Long> createProducts(Category category, String... prices) throws Exception {
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < prices.length; i++) {
+            body.append(i == 0 ? "" : ",")
+                    .append("{\"name\": \"").append(category.getName()).append(' ').append(i)
+                    .append("\", \"description\": \"Test product\", \"price\": ").append(prices[i])
+                    .append(", \"quantity\": 2, \"unit\": \"pcs\", \"categoryId\": ").append(category.getId())
+                    .append(", \"supplierId\": ").append(supplier.getId()).append('}');
+        }
+        mockMvc.perform(post("/api/product/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body.append(']').toString()))
+                .andExpect(jsonPath("$.items.length()").value(prices.length));
+        return productRepository.findAll().stream()
+                .filter(product -> product.getCategory().getId().equals(category.getId()))
+                .map(Product::getId)
+                .sorted(Comparator.naturalOrder())
+                .collect(Collectors.toList());
+    }
+
+    private List<String> prices(List<Long> ids) {
+        return ids.stream()
+                .map(id -> productRepository.findById(id).orElseThrow().getPrice())
+                .map(BigDecimal::toPlainString)
+                .toList();
+    }
+
+    private ResultActions bulk(String path, String body) throws Exception {
+        return bulk(path, body, 200);
+    }
+
+    private ResultActions bulk(String path, String body, int status) throws Exception {
+        return mockMvc.perform(post(path)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().is(status));
+    }
+
+}
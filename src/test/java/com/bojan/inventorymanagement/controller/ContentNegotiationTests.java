@@ -0,0 +1,133 @@
+package com.bojan.inventorymanagement.controller;
+
+import com.bojan.inventorymanagement.TestData;
+import com.bojan.inventorymanagement.model.Category;
+import com.bojan.inventorymanagement.model.Product;
+import com.bojan.inventorymanagement.model.Supplier;
+import com.bojan.inventorymanagement.repository.CategoryRepository;
+import com.bojan.inventorymanagement.repository.ProductRepository;
+import com.bojan.inventorymanagement.repository.SupplierRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that the REST API speaks CBOR and Smile next to JSON, selected by the Accept and
+ * Content-Type headers, and that JSON stays the default.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Sql("/clean-database.sql")
+class ContentNegotiationTests {
+
+    private static final String JSON = "application/json";
+    private static final String CBOR = "application/cbor";
+    private static final String SMILE = "application/x-jackson-smile";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @BeforeEach
+    void seedProducts() {
+        Category category = categoryRepository.save(TestData.electronics().build());
+        Supplier supplier = supplierRepository.save(TestData.techWarehouse().build());
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            products.add(Product.builder()
+                    .name("Laptop " + i)
+                    .description("15 inch laptop with 16 GB of memory")
+                    .price(new BigDecimal("1499.99"))
+                    .quantity(42)
+                    .unit("pcs")
+                    .category(category)
+                    .supplier(supplier)
+                    .build());
+        }
+        productRepository.saveAll(products);
+    }
+
+    @Test
+    void productPageIsServedInEveryFormat() throws Exception {
+        Map<String, ObjectMapper> formats = Map.of(JSON, new ObjectMapper(), CBOR, new CBORMapper(), SMILE, new SmileMapper());
+        Map<String, Integer> sizes = new HashMap<>();
+        for (Map.Entry<String, ObjectMapper> format : formats.entrySet()) {
+            byte[] body = productPage(format.getKey());
+            sizes.put(format.getKey(), body.length);
+
+            JsonNode page = format.getValue().readTree(body);
+            assertEquals(20, page.get("items").size());
+            assertEquals("Laptop 0", page.get("items").get(0).get("name").asText());
+            assertEquals(0, new BigDecimal("1499.99").compareTo(page.get("items").get(0).get("price").decimalValue()));
+        }
+        assertTrue(sizes.get(CBOR) < sizes.get(JSON), sizes.toString());
+        assertTrue(sizes.get(SMILE) < sizes.get(JSON), sizes.toString());
+    }
+
+    @Test
+    void jsonStaysTheDefault() throws Exception {
+        mockMvc.perform(get("/api/product"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/json"))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)));
+    }
+
+    @Test
+    void requestBodiesAreAcceptedInBinaryFormats() throws Exception {
+        byte[] body = new CBORMapper().writeValueAsBytes(Map.of("name", "Beverages", "description", "Drinks"));
+        MockHttpServletResponse response = mockMvc.perform(post("/api/category")
+                        .contentType(CBOR)
+                        .accept(SMILE)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(SMILE))
+                .andReturn().getResponse();
+
+        JsonNode category = new SmileMapper().readTree(response.getContentAsByteArray());
+        assertEquals("Beverages", category.get("name").asText());
+        assertTrue(categoryRepository.findAll().stream().anyMatch(saved -> saved.getName().equals("Beverages")));
+    }
+
+    private byte[] productPage(String mediaType) throws Exception {
+        return mockMvc.perform(get("/api/product").accept(mediaType))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(mediaType))
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.bojan.inventorymanagement.controller;
+
+import com.bojan.inventorymanagement.TestData;
+import com.bojan.inventorymanagement.model.Category;
+import com.bojan.inventorymanagement.repository.CategoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that the Prometheus endpoint exposes the request, service, repository, connection pool,
+ * Hibernate and JVM metrics.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Sql("/clean-database.sql")
+class MetricsTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private Category category;
+
+    @BeforeEach
+    void seedCategory() {
+        category = categoryRepository.save(TestData.electronics().build());
+    }
+
+    @Test
+    void prometheusEndpointExposesHotPathMetrics() throws Exception {
+        mockMvc.perform(get("/api/product")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/category/" + category.getId())).andExpect(status().isOk());
+        mockMvc.perform(get("/api/supplier/0")).andExpect(status().isNotFound());
+
+        String body = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertMetric(body, "http_server_requests_seconds_bucket", "uri=\"/api/product\"");
+        assertMetric(body, "http_server_requests_seconds_count", "uri=\"/api/category/{id}\"");
+        assertMetric(body, "http_server_requests_seconds_count", "status=\"404\"");
+        assertMetric(body, "inventory_service_seconds_bucket", "class=\"com.bojan.inventorymanagement.service.impl.ProductServiceImpl\"");
+        assertMetric(body, "inventory_service_seconds_count", "method=\"getCategoryDtoById\"");
+        assertMetric(body, "spring_data_repository_invocations_seconds_bucket", "repository=\"CategoryRepository\"");
+        assertMetric(body, "hikaricp_connections_pending", "pool=");
+        assertMetric(body, "hikaricp_connections_acquire_seconds_bucket", "pool=");
+        assertMetric(body, "hibernate_query_executions_total", "entityManagerFactory=");
+        assertMetric(body, "hibernate_entities_loads_total", "entityManagerFactory=");
+        assertMetric(body, "jvm_gc_memory_allocated_bytes_total", "application=\"InventoryManagement\"");
+    }
+
+    private static void assertMetric(String body, String name, String label) {
+        assertTrue(body.lines().anyMatch(line -> line.startsWith(name + "{") && line.contains(label)),
+                () -> "No " + name + " sample with " + label);
+    }
+
+}
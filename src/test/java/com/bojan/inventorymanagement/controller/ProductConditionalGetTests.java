@@ -0,0 +1,129 @@
+package com.bojan.inventorymanagement.controller;
+
+import com.bojan.inventorymanagement.TestData;
+import com.bojan.inventorymanagement.model.Category;
+import com.bojan.inventorymanagement.model.Product;
+import com.bojan.inventorymanagement.model.Supplier;
+import com.bojan.inventorymanagement.repository.CategoryRepository;
+import com.bojan.inventorymanagement.repository.ProductRepository;
+import com.bojan.inventorymanagement.repository.SupplierRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that product reads carry weak ETags, shared by all formats, and honor If-None-Match,
+ * and that updates honor If-Match.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Sql("/clean-database.sql")
+class ProductConditionalGetTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    private Product product;
+
+    @BeforeEach
+    void seedProduct() {
+        Category category = categoryRepository.save(TestData.electronics().build());
+        Supplier supplier = supplierRepository.save(TestData.techWarehouse().build());
+        product = productRepository.save(TestData.laptop(category, supplier).build());
+    }
+
+    @Test
+    void unchangedProductIsNotModified() throws Exception {
+        String url = "/api/product/" + product.getId();
+        String eTag = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(eTag);
+        assertTrue(eTag.startsWith("W/"), eTag);
+
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        // The CBOR representation of the same state is equivalent
+        mockMvc.perform(get(url).accept("application/cbor").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        product.setPrice(new BigDecimal("1400.00"));
+        productRepository.save(product);
+
+        String changedETag = mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(eTag, changedETag);
+    }
+
+    @Test
+    void unchangedPageIsNotModified() throws Exception {
+        String eTag = mockMvc.perform(get("/api/product"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(eTag);
+        assertTrue(eTag.startsWith("W/"), eTag);
+
+        mockMvc.perform(get("/api/product").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+
+        product.setQuantity(5);
+        productRepository.save(product);
+
+        mockMvc.perform(get("/api/product").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void patchWithStaleIfMatchIsRejected() throws Exception {
+        String url = "/api/product/" + product.getId();
+        String eTag = mockMvc.perform(get(url))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        String newETag = mockMvc.perform(patch(url)
+                        .contentType("application/merge-patch+json")
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .content("{\"quantity\": 7}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantity").value(7))
+                .andExpect(jsonPath("$.name").value("Laptop"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(eTag, newETag);
+
+        // A second writer still holding the old ETag must not overwrite the change
+        mockMvc.perform(patch(url)
+                        .contentType("application/merge-patch+json")
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .content("{\"quantity\": 3}"))
+                .andExpect(status().isConflict());
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.bojan.inventorymanagement.controller;
+
+import com.bojan.inventorymanagement.model.Category;
+import com.bojan.inventorymanagement.model.Product;
+import com.bojan.inventorymanagement.model.Supplier;
+import com.bojan.inventorymanagement.repository.CategoryRepository;
+import com.bojan.inventorymanagement.repository.ProductRepository;
+import com.bojan.inventorymanagement.repository.SupplierRepository;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies the CSV and XLSX downloads of the product list page, including paging past
+ * the first page of rows and applying the list filters.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Sql("/clean-database.sql")
+class ProductExportTests {
+
+    private static final int PRODUCTS = 1205;   // More than one export page
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    private Category tools;
+
+    @BeforeEach
+    void seedProducts() {
+        tools = categoryRepository.save(Category.builder().name("Tools").description("Hand tools").build());
+        Category garden = categoryRepository.save(Category.builder().name("Garden").description("Garden supplies").build());
+        Supplier supplier = supplierRepository.save(Supplier.builder()
+                .name("Tool Shop").contactName("Carl").email("carl@tools.com").phone("555-0101").address("2 Side Street")
+                .build());
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            products.add(Product.builder()
+                    .name("Product " + i).description(i == 0 ? "Hammer, \"claw\"" : "Item")
+                    .price(new BigDecimal("9.99")).quantity(i).unit("pcs")
+                    .category(i % 5 == 0 ? tools : garden).supplier(supplier)
+                    .build());
+        }
+        productRepository.saveAll(products);
+    }
+
+    @Test
+    void csvDownloadStreamsFilteredRows() throws Exception {
+        byte[] body = download("/products/export.csv?categoryId=" + tools.getId());
+        List<String> lines = new String(body, StandardCharsets.UTF_8).lines().toList();
+
+        assertEquals("\uFEFFid,name,description,price,quantity,unit,reorderThreshold,category,supplier", lines.get(0));
+        assertEquals(1 + (PRODUCTS + 4) / 5, lines.size());     // Header plus every fifth product
+        assertEquals(",Product 0,\"Hammer, \"\"claw\"\"\",9.99,0,pcs,,Tools,Tool Shop", lines.get(1).substring(lines.get(1).indexOf(',')));
+    }
+
+    @Test
+    void xlsxDownloadContainsEveryRow() throws Exception {
+        byte[] body = download("/products/export.xlsx");
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(body))) {
+            Sheet sheet = workbook.getSheet("Products");
+            assertEquals(PRODUCTS, sheet.getLastRowNum());
+            assertEquals("supplier", sheet.getRow(0).getCell(8).getStringCellValue());
+            assertEquals("Product 1204", sheet.getRow(PRODUCTS).getCell(1).getStringCellValue());
+            assertEquals(9.99, sheet.getRow(PRODUCTS).getCell(3).getNumericCellValue());
+        }
+    }
+
+    private byte[] download(String url) throws Exception {
+        MvcResult result = mockMvc.perform(get(url))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", startsWith("attachment")))
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+
+}
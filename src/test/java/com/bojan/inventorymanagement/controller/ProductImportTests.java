@@ -0,0 +1,156 @@
+package com.bojan.inventorymanagement.controller;
+
+import com.bojan.inventorymanagement.TestData;
+import com.bojan.inventorymanagement.model.Category;
+import com.bojan.inventorymanagement.model.MovementType;
+import com.bojan.inventorymanagement.model.Product;
+import com.bojan.inventorymanagement.model.Supplier;
+import com.bojan.inventorymanagement.repository.CategoryRepository;
+import com.bojan.inventorymanagement.repository.PendingSnapshotMovementRepository;
+import com.bojan.inventorymanagement.repository.ProductImportRepository;
+import com.bojan.inventorymanagement.repository.ProductRepository;
+import com.bojan.inventorymanagement.repository.SupplierRepository;
+import com.bojan.inventorymanagement.service.InventoryValuationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies the CSV import: staging, the set-based upsert, row errors and the side effects on
+ * alerts, valuation and the stock ledger. On H2 the staging table is loaded with JDBC batches
+ * instead of COPY.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Sql("/clean-database.sql")
+class ProductImportTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private PendingSnapshotMovementRepository pendingRepository;
+
+    @Autowired
+    private InventoryValuationService valuationService;
+
+    @Autowired
+    private ProductImportRepository importRepository;
+
+    private Category category;
+
+    private Supplier supplier;
+
+    @BeforeEach
+    void seedReferences() {
+        category = categoryRepository.save(TestData.electronics()
+                .reorderThreshold(5)
+                .build());
+        supplier = supplierRepository.save(TestData.techWarehouse().build());
+    }
+
+    @Test
+    void importUpsertsValidRowsAndReportsInvalidOnes() throws Exception {
+        Product laptop = productRepository.save(Product.builder()
+                .name("Laptop").description("Old description").price(new BigDecimal("1500.00")).quantity(2)
+                .category(category).supplier(supplier)
+                .build());
+        valuationService.reconcile();
+
+        String csv = """
+                name,description,price,quantity,unit,category,supplier,reorderThreshold
+                Laptop,Gaming laptop,1400.00,3,pcs,Electronics,Tech Warehouse,
+                Mouse,Wireless mouse,25.50,10,pcs,%d,Tech Warehouse,
+                Keyboard,Mechanical,abc,4,pcs,Electronics,Tech Warehouse,
+                Monitor,27 inch,300.00,1,pcs,Furniture,Tech Warehouse,
+                Cable,USB-C,-1,4,pcs,Electronics,Tech Warehouse,
+                Mouse,Wireless mouse,24.00,12,pcs,Electronics,Tech Warehouse,20
+                """.formatted(category.getId());
+
+        String body = importCsv(csv);
+        assertTrue(body.contains("\"index\":4,\"message\":\"price, quantity and reorderThreshold must be numbers\""), body);
+        assertTrue(body.contains("\"index\":5,\"message\":\"Category not found\""), body);
+        assertTrue(body.contains("\"index\":6,\"message\":\"price must be greater than 0.0\""), body);
+        String done = body.lines().reduce((first, second) -> second).orElseThrow();
+        assertTrue(done.contains("\"status\":\"DONE\""), done);
+        assertTrue(done.contains("\"rowsRead\":6,\"rowsStaged\":3,\"rowsRejected\":3,\"inserted\":1,\"updated\":1"), done);
+
+        List<Product> products = productRepository.findAll().stream()
+                .sorted(Comparator.comparing(Product::getName))
+                .toList();
+        assertEquals(2, products.size());
+        assertEquals(laptop.getId(), products.get(0).getId());
+        assertEquals("Gaming laptop", products.get(0).getDescription());
+        assertEquals(3, products.get(0).getQuantity());
+        assertEquals(laptop.getVersion() + 1, products.get(0).getVersion());
+        // The later line for the mouse wins
+        assertEquals(0, new BigDecimal("24.00").compareTo(products.get(1).getPrice()));
+        assertEquals(12, products.get(1).getQuantity());
+        assertEquals(20, products.get(1).getReorderThreshold());
+
+        // Laptop fell below its category threshold, the mouse below its own
+        mockMvc.perform(get("/api/alerts"))
+                .andExpect(jsonPath("$.items.length()").value(2));
+        mockMvc.perform(get("/api/reports/valuation"))
+                .andExpect(jsonPath("$.total.value").value(4488.00))
+                .andExpect(jsonPath("$.total.quantity").value(15));
+        mockMvc.perform(get("/api/product/" + products.get(1).getId() + "/movements"))
+                .andExpect(jsonPath("$.items[0].type").value(MovementType.RECEIPT.name()))
+                .andExpect(jsonPath("$.items[0].quantityChange").value(12));
+        // The valuation followed the import without a rebuild
+        assertEquals(0, valuationService.reconcile());
+        // Both movements are queued for the next snapshot run
+        assertEquals(2, pendingRepository.count());
+        assertEquals(0, importRepository.count());
+    }
+
+    @Test
+    void importWithMissingColumnsFails() throws Exception {
+        String body = importCsv("name,price\nLaptop,1400.00\n");
+        assertTrue(body.contains("\"status\":\"FAILED\""), body);
+        assertTrue(body.contains("missing the columns [quantity, category, supplier]"), body);
+        assertEquals(0, productRepository.count());
+    }
+
+    private String importCsv(String csv) throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "prices.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8));
+        MvcResult result = mockMvc.perform(multipart("/api/product/import").file(file))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+}
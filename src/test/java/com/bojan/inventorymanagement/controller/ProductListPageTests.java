@@ -0,0 +1,146 @@
+package com.bojan.inventorymanagement.controller;
+
+import com.bojan.inventorymanagement.TestData;
+import com.bojan.inventorymanagement.model.Category;
+import com.bojan.inventorymanagement.model.Product;
+import com.bojan.inventorymanagement.model.Supplier;
+import com.bojan.inventorymanagement.repository.CategoryRepository;
+import com.bojan.inventorymanagement.repository.ProductRepository;
+import com.bojan.inventorymanagement.repository.SupplierRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies the paginated product list page: server-side paging, sorting and filtering, and the
+ * cached product table, which is served without SQL until the data changes.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Sql("/clean-database.sql")
+class ProductListPageTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Category tools;
+
+    private List<Product> products;
+
+    @BeforeEach
+    void seedProducts() {
+        Category electronics = categoryRepository.save(TestData.electronics().build());
+        tools = categoryRepository.save(Category.builder().name("Tools").description("Hand tools").build());
+        Supplier supplier = supplierRepository.save(TestData.techWarehouse().build());
+        List<Product> batch = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            batch.add(Product.builder()
+                    .name(String.format("Product %02d", i))
+                    .description("Test product")
+                    .price(BigDecimal.valueOf(100 + i))
+                    .quantity(i)
+                    .unit("pcs")
+                    .category(i % 3 == 0 ? tools : electronics)
+                    .supplier(supplier)
+                    .build());
+        }
+        products = productRepository.saveAll(batch);
+    }
+
+    @Test
+    void firstPageIsSortedByName() throws Exception {
+        String html = page("/products");
+        assertTrue(html.contains("60 products"), html);
+        assertTrue(html.contains("Page 1 of 2"), html);
+        assertTrue(html.indexOf("Product 00") < html.indexOf("Product 49"), html);
+        assertFalse(html.contains("Product 50"), html);
+    }
+
+    @Test
+    void pagesAreSortedAndFilteredOnTheServer() throws Exception {
+        String html = page("/products?sort=price&dir=desc&size=20&page=1");
+        assertTrue(html.contains("Page 2 of 3"), html);
+        assertTrue(html.indexOf("Product 39") < html.indexOf("Product 20"), html);
+        assertFalse(html.contains("Product 40"), html);
+        assertFalse(html.contains("Product 19"), html);
+
+        html = page("/products?categoryId=" + tools.getId() + "&sort=quantity");
+        assertTrue(html.contains("20 products"), html);
+        assertTrue(html.contains("Product 57"), html);
+        assertFalse(html.contains("Product 01"), html);
+    }
+
+    @Test
+    void renderedTableIsCachedUntilTheDataChanges() throws Exception {
+        page("/products?size=20");
+
+        Statistics statistics = statistics();
+        statistics.clear();
+        page("/products?size=20");
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        // A product change produces a new data version, so the table is rendered again
+        Product product = products.get(0);
+        product.setName("Product 00 renamed");
+        productRepository.save(product);
+        assertTrue(page("/products?size=20").contains("Product 00 renamed"));
+
+        // Stock adjustments are native updates and count as product changes too
+        mockMvc.perform(post("/api/product/" + product.getId() + "/stock")
+                        .contentType("application/json")
+                        .content("{\"delta\": 500}"))
+                .andExpect(status().isOk());
+        assertTrue(page("/products?size=20").contains("<td>500</td>"));
+
+        // As does a change of a category shown in the table
+        mockMvc.perform(put("/api/category/" + tools.getId())
+                        .contentType("application/json")
+                        .content("{\"name\": \"Hardware\", \"description\": \"Hand tools\"}"))
+                .andExpect(status().isOk());
+        assertTrue(page("/products?size=20").contains("Hardware"));
+    }
+
+    private String page(String url) throws Exception {
+        return mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+}
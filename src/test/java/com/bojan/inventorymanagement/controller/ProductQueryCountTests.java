@@ -0,0 +1,115 @@
+package com.bojan.inventorymanagement.controller;
+
+import com.bojan.inventorymanagement.model.Category;
+import com.bojan.inventorymanagement.model.Product;
+import com.bojan.inventorymanagement.model.Supplier;
+import com.bojan.inventorymanagement.repository.CategoryRepository;
+import com.bojan.inventorymanagement.repository.ProductRepository;
+import com.bojan.inventorymanagement.repository.SupplierRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Guards against N+1 loading of a product's category and supplier.
+ * Every product gets its own category and supplier, so any per-row association
+ * load shows up as a growing number of SQL statements.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Sql("/clean-database.sql")
+class ProductQueryCountTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void loadFilterForm() throws Exception {
+        // Loads the cached category and supplier lists of the filter form, which are not per row
+        mockMvc.perform(get("/products")).andExpect(status().isOk());
+    }
+
+    @Test
+    void productListPageRunsConstantNumberOfQueries() throws Exception {
+        seedProducts(3);
+        long fewProducts = countStatements("/products");
+
+        seedProducts(30);
+        long manyProducts = countStatements("/products");
+
+        assertEquals(1, fewProducts);
+        assertEquals(fewProducts, manyProducts);
+    }
+
+    @Test
+    void productApiPageDoesNotLoadAssociations() throws Exception {
+        seedProducts(3);
+        long fewProducts = countStatements("/api/product");
+
+        seedProducts(30);
+        long manyProducts = countStatements("/api/product");
+
+        assertEquals(1, fewProducts);
+        assertEquals(fewProducts, manyProducts);
+    }
+
+    private long countStatements(String url) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(get(url)).andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void seedProducts(int count) {
+        for (int i = 0; i < count; i++) {
+            Category category = categoryRepository.save(Category.builder()
+                    .name("Category " + i)
+                    .description("Test category")
+                    .build());
+            Supplier supplier = supplierRepository.save(Supplier.builder()
+                    .name("Supplier " + i)
+                    .contactName("Contact " + i)
+                    .email("supplier" + i + "@example.com")
+                    .phone("555-0100")
+                    .address("Test Street " + i)
+                    .build());
+            productRepository.save(Product.builder()
+                    .name("Product " + i)
+                    .description("Test product")
+                    .price(new BigDecimal("9.99"))
+                    .quantity(10)
+                    .unit("pcs")
+                    .category(category)
+                    .supplier(supplier)
+                    .build());
+        }
+    }
+
+}
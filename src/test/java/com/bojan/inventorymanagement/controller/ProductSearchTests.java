@@ -0,0 +1,148 @@
+package com.bojan.inventorymanagement.controller;
+
+import com.bojan.inventorymanagement.model.Category;
+import com.bojan.inventorymanagement.model.Product;
+import com.bojan.inventorymanagement.model.Supplier;
+import com.bojan.inventorymanagement.repository.CategoryRepository;
+import com.bojan.inventorymanagement.repository.ProductRepository;
+import com.bojan.inventorymanagement.repository.SupplierRepository;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Checks the product search on PostgreSQL, where the generated search vector, its GIN index and the
+ * trigram index on the name exist: full-text ranking, typo tolerance and paging through the ranked
+ * results. Runs with -Ppostgres against a scratch database; see the postgres profile in the pom.
+ */
+@Tag("postgres")
+@SpringBootTest(properties = "inventory.scheduling.enabled=false")
+@AutoConfigureMockMvc
+@Sql("/clean-database.sql")
+class ProductSearchTests {
+
+    private static final int WIDGET_COUNT = 12;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private Category category;
+
+    private Supplier supplier;
+
+    @BeforeEach
+    void seedReferences() {
+        category = categoryRepository.save(Category.builder().name("Tools").description("Hand and power tools").build());
+        supplier = supplierRepository.save(Supplier.builder()
+                .name("Tool Shop")
+                .contactName("Carl")
+                .email("carl@tools.com")
+                .phone("555-0101")
+                .address("2 Side Street")
+                .build());
+    }
+
+    @Test
+    void nameMatchRanksAboveDescriptionMatch() throws Exception {
+        Product caseOnly = save("Tool Case", "Holds a drill and its bits");
+        Product drill = save("Drill Press", "Bench mounted");
+        save("Hammer", "Claw hammer");
+
+        assertEquals(List.of(drill.getId(), caseOnly.getId()), searchIds("drill", 50));
+    }
+
+    @Test
+    void misspelledNameIsFoundBySimilarity() throws Exception {
+        Product hammer = save("Hammer", "Claw hammer");
+        save("Screwdriver", "Flat head");
+
+        // "hamer" does not match the stemmed full-text vector, only the trigrams of the name
+        assertEquals(List.of(hammer.getId()), searchIds("hamer", 50));
+
+        String page = mockMvc.perform(get("/products").param("q", "hamer"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertTrue(page.contains("Hammer"), page);
+        assertFalse(page.contains("Screwdriver"), page);
+    }
+
+    @Test
+    void pagesFollowTheRankedOrder() throws Exception {
+        for (int i = 1; i <= WIDGET_COUNT; i++) {
+            save("Widget " + i, "Steel widget");
+        }
+        List<Long> unpaged = searchIds("widget", 500);
+        assertEquals(WIDGET_COUNT, unpaged.size());
+
+        List<Long> paged = new ArrayList<>();
+        String after = null;
+        int pages = 0;
+        do {
+            MockHttpServletRequestBuilder request = get("/api/product/search").param("q", "widget").param("limit", "5");
+            if (after != null) {
+                request.param("after", after);
+            }
+            String json = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            List<Number> ids = JsonPath.read(json, "$.items[*].id");
+            ids.forEach(id -> paged.add(id.longValue()));
+            after = JsonPath.read(json, "$.nextCursor");
+            pages++;
+        } while (after != null);
+
+        assertEquals(3, pages);
+        assertEquals(WIDGET_COUNT, new HashSet<>(paged).size());
+        assertEquals(unpaged, paged);
+        // The ranking is stable between requests
+        assertEquals(unpaged, searchIds("widget", 500));
+    }
+
+    private Product save(String name, String description) {
+        return productRepository.save(Product.builder()
+                .name(name)
+                .description(description)
+                .price(new BigDecimal("10.00"))
+                .quantity(5)
+                .unit("pcs")
+                .category(category)
+                .supplier(supplier)
+                .build());
+    }
+
+    private List<Long> searchIds(String query, int limit) throws Exception {
+        String json = mockMvc.perform(get("/api/product/search").param("q", query).param("limit", String.valueOf(limit)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        List<Number> ids = JsonPath.read(json, "$.items[*].id");
+        return ids.stream().map(Number::longValue).toList();
+    }
+
+}
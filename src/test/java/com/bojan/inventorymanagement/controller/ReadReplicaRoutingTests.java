@@ -0,0 +1,161 @@
+package com.bojan.inventorymanagement.controller;
+
+import com.bojan.inventorymanagement.TestData;
+import com.bojan.inventorymanagement.config.ReadYourWrites;
+import com.bojan.inventorymanagement.model.Category;
+import com.bojan.inventorymanagement.model.Product;
+import com.bojan.inventorymanagement.model.Supplier;
+import com.bojan.inventorymanagement.repository.CategoryRepository;
+import com.bojan.inventorymanagement.repository.ProductRepository;
+import com.bojan.inventorymanagement.repository.SupplierRepository;
+import com.bojan.inventorymanagement.service.CategoryService;
+import com.bojan.inventorymanagement.service.SupplierService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies the primary/replica split with two H2 databases standing in for the primary and the
+ * replica. Replication is simulated by copying the primary into the replica; changes made after
+ * that copy are "replication lag" and only visible on the primary. The second-level cache is off
+ * in this context: it would serve reads past the replica, and its regions live in the JVM-wide
+ * JCache manager shared with the main test context.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReadReplicaRoutingTests.PRIMARY_URL,
+        "inventory.datasource.replica.url=" + ReadReplicaRoutingTests.REPLICA_URL,
+        "inventory.datasource.replica.username=sa",
+        "inventory.datasource.replica.password=",
+        "inventory.datasource.replica.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Sql("/clean-database.sql")
+class ReadReplicaRoutingTests {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing_primary;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH";
+
+    static final String REPLICA_URL = "jdbc:h2:mem:routing_replica;DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private SupplierService supplierService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Product product;
+
+    @BeforeEach
+    void seedAndReplicate() {
+        Category category = categoryRepository.save(TestData.electronics().build());
+        Supplier supplier = supplierRepository.save(TestData.techWarehouse().build());
+        product = productRepository.save(TestData.laptop(category, supplier).build());
+
+        List<String> script = new JdbcTemplate(primaryDataSource).queryForList("SCRIPT", String.class);
+        // One connection, as the script also contains Hibernate's connection-local temporary tables
+        SingleConnectionDataSource replicaDataSource = new SingleConnectionDataSource(REPLICA_URL, "sa", "", true);
+        try {
+            JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+            replica.execute("DROP ALL OBJECTS");
+            script.forEach(replica::execute);
+        } finally {
+            replicaDataSource.destroy();
+        }
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void readsUseReplicaUnlessPinnedToPrimary() throws Exception {
+        new JdbcTemplate(primaryDataSource).update("UPDATE product SET name = 'Renamed' WHERE id = ?", product.getId());
+
+        mockMvc.perform(get("/api/product/" + product.getId()))
+                .andExpect(jsonPath("$.name").value("Laptop"));
+        mockMvc.perform(get("/api/product/" + product.getId()).cookie(new Cookie(ReadYourWrites.COOKIE, "1")))
+                .andExpect(jsonPath("$.name").value("Renamed"));
+    }
+
+    @Test
+    void writeSendsFollowingReadsOfTheClientToPrimary() throws Exception {
+        Cookie pinned = mockMvc.perform(patch("/api/product/" + product.getId())
+                        .contentType("application/merge-patch+json")
+                        .content("{\"name\": \"Gaming laptop\"}"))
+                .andExpect(status().isOk())
+                .andExpect(cookie().maxAge(ReadYourWrites.COOKIE, 5))
+                .andReturn().getResponse().getCookie(ReadYourWrites.COOKIE);
+
+        mockMvc.perform(get("/api/product/" + product.getId()).cookie(pinned))
+                .andExpect(jsonPath("$.name").value("Gaming laptop"));
+        // Other clients still read the replica, which has not caught up yet
+        mockMvc.perform(get("/api/product/" + product.getId()))
+                .andExpect(jsonPath("$.name").value("Laptop"))
+                .andExpect(cookie().doesNotExist(ReadYourWrites.COOKIE));
+    }
+
+    @Test
+    void cachesAreFilledFromPrimary() {
+        JdbcTemplate primary = new JdbcTemplate(primaryDataSource);
+        primary.update("UPDATE category SET name = 'Computers' WHERE id = ?", product.getCategory().getId());
+        primary.update("UPDATE supplier SET name = 'Tech Depot' WHERE id = ?", product.getSupplier().getId());
+
+        assertEquals("Computers", categoryService.getAllCategories().get(0).getName());
+        assertEquals("Computers", categoryService.getCategoryById(product.getCategory().getId()).orElseThrow().getName());
+        assertEquals("Tech Depot", supplierService.getAllSuppliers().get(0).getName());
+        assertEquals("Tech Depot", supplierService.getSupplierById(product.getSupplier().getId()).orElseThrow().getName());
+        // Reads that are not cached still use the replica
+        assertEquals("Electronics", categoryService.getCategoryDtoById(product.getCategory().getId()).orElseThrow().getName());
+        assertEquals("Laptop", productRepository.findById(product.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    void eachPoolPublishesItsOwnMetrics() {
+        assertNotNull(meterRegistry.find("hikaricp.connections.max").tag("pool", "primary").gauge());
+        assertNotNull(meterRegistry.find("hikaricp.connections.max").tag("pool", "replica").gauge());
+    }
+
+}
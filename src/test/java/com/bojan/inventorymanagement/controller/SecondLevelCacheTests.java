@@ -0,0 +1,132 @@
+package com.bojan.inventorymanagement.controller;
+
+import com.bojan.inventorymanagement.TestData;
+import com.bojan.inventorymanagement.model.Category;
+import com.bojan.inventorymanagement.model.Product;
+import com.bojan.inventorymanagement.model.Supplier;
+import com.bojan.inventorymanagement.repository.CategoryRepository;
+import com.bojan.inventorymanagement.repository.ProductRepository;
+import com.bojan.inventorymanagement.repository.SupplierRepository;
+import com.bojan.inventorymanagement.service.ProductService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that categories and suppliers are served from Hibernate's second-level cache:
+ * repeated product reads do not query the category and supplier tables, updates refresh the
+ * cached entries, and the reference table lists come from the query cache.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Sql("/clean-database.sql")
+class SecondLevelCacheTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Product product;
+
+    @BeforeEach
+    void seedProduct() {
+        entityManagerFactory.getCache().evictAll();
+
+        Category category = categoryRepository.save(TestData.electronics().build());
+        Supplier supplier = supplierRepository.save(TestData.techWarehouse().build());
+        product = productRepository.save(TestData.laptop(category, supplier).build());
+    }
+
+    @Test
+    void repeatedProductReadsDoNotQueryCategoryAndSupplier() {
+        Statistics statistics = statistics();
+        productService.getProductWithReferencesById(product.getId()).orElseThrow();
+
+        statistics.clear();
+        Product read = productService.getProductWithReferencesById(product.getId()).orElseThrow();
+
+        assertEquals("Electronics", read.getCategory().getName());
+        assertEquals("Tech Warehouse", read.getSupplier().getName());
+        // Only the product row itself is selected
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void updatedCategoryIsServedFreshFromCache() throws Exception {
+        productService.getProductWithReferencesById(product.getId()).orElseThrow();
+        Long categoryId = product.getCategory().getId();
+
+        mockMvc.perform(put("/api/category/" + categoryId)
+                        .contentType("application/json")
+                        .content("{\"name\": \"Computers\", \"description\": \"Laptops and desktops\"}"))
+                .andExpect(status().isOk());
+
+        Statistics statistics = statistics();
+        statistics.clear();
+        Product read = productService.getProductWithReferencesById(product.getId()).orElseThrow();
+        assertEquals("Computers", read.getCategory().getName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void referenceListsComeFromQueryCache() {
+        categoryRepository.findAll();
+
+        Statistics statistics = statistics();
+        statistics.clear();
+        assertEquals(1, categoryRepository.findAll().size());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+
+        // A write to the table invalidates the cached result
+        categoryRepository.save(Category.builder().name("Beverages").description("Drinks").build());
+        assertEquals(2, categoryRepository.findAll().size());
+    }
+
+    @Test
+    void cacheStatisticsIncludeSecondLevelCache() throws Exception {
+        productService.getProductWithReferencesById(product.getId()).orElseThrow();
+        productService.getProductWithReferencesById(product.getId()).orElseThrow();
+
+        mockMvc.perform(get("/api/cache/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$['hibernate:category'].hits").isNumber())
+                .andExpect(jsonPath("$['hibernate:supplier'].puts").isNumber())
+                .andExpect(jsonPath("$['hibernate:queries'].hits").isNumber());
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+}
@@ -0,0 +1,170 @@
+package com.bojan.inventorymanagement.controller;
+
+import com.bojan.inventorymanagement.model.Category;
+import com.bojan.inventorymanagement.model.MovementType;
+import com.bojan.inventorymanagement.model.Product;
+import com.bojan.inventorymanagement.model.StockMovement;
+import com.bojan.inventorymanagement.model.Supplier;
+import com.bojan.inventorymanagement.repository.CategoryRepository;
+import com.bojan.inventorymanagement.repository.ProductRepository;
+import com.bojan.inventorymanagement.repository.StockMovementRepository;
+import com.bojan.inventorymanagement.repository.SupplierRepository;
+import com.bojan.inventorymanagement.service.InventoryValuationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies the atomic stock adjustment: the new level and version, the ledger entry, and that
+ * neither a single nor many concurrent decrements can take the stock below zero.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Sql("/clean-database.sql")
+class StockAdjustmentTests {
+
+    private static final int CLIENTS = 4;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private StockMovementRepository movementRepository;
+
+    @Autowired
+    private InventoryValuationService valuationService;
+
+    private Product product;
+
+    @BeforeEach
+    void seedProduct() {
+        Category category = categoryRepository.save(Category.builder().name("Tools").description("Hand tools").build());
+        Supplier supplier = supplierRepository.save(Supplier.builder()
+                .name("Tool Shop")
+                .contactName("Carl")
+                .email("carl@tools.com")
+                .phone("555-0101")
+                .address("2 Side Street")
+                .build());
+        product = productRepository.save(Product.builder()
+                .name("Hammer")
+                .description("Claw hammer")
+                .price(new BigDecimal("12.00"))
+                .quantity(10)
+                .category(category)
+                .supplier(supplier)
+                .build());
+        valuationService.reconcile();
+    }
+
+    @Test
+    void adjustmentReturnsNewLevelAndBumpsVersion() throws Exception {
+        adjust(product.getId(), "{\"delta\": -3, \"reason\": \"Order 17\"}", 200)
+                .andExpect(jsonPath("$.productId").value(product.getId()))
+                .andExpect(jsonPath("$.quantity").value(7));
+
+        Product adjusted = productRepository.findById(product.getId()).orElseThrow();
+        assertEquals(7, adjusted.getQuantity());
+        assertEquals(product.getVersion() + 1, adjusted.getVersion());
+        List<StockMovement> movements = movementRepository.findAll();
+        assertEquals(1, movements.size());
+        assertEquals(MovementType.PICK, movements.get(0).getType());
+        assertEquals(-3, movements.get(0).getQuantityChange());
+        assertEquals("Order 17", movements.get(0).getReason());
+        assertEquals(0, valuationService.reconcile());
+    }
+
+    @Test
+    void adjustmentBelowZeroIsRejected() throws Exception {
+        adjust(product.getId(), "{\"delta\": -11}", 409);
+        adjust(999_999L, "{\"delta\": 1}", 404);
+
+        Product unchanged = productRepository.findById(product.getId()).orElseThrow();
+        assertEquals(10, unchanged.getQuantity());
+        assertEquals(product.getVersion(), unchanged.getVersion());
+        assertEquals(0, movementRepository.count());
+
+        // The bulk endpoint reports the rejected adjustment and applies the others
+        mockMvc.perform(post("/api/product/stock")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"productId\": " + product.getId() + ", \"delta\": -11}, "
+                                + "{\"productId\": " + product.getId() + ", \"delta\": -10}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].quantity").value(0))
+                .andExpect(jsonPath("$.errors.length()").value(1))
+                .andExpect(jsonPath("$.errors[0].index").value(0));
+    }
+
+    @Test
+    void concurrentDecrementsNeverOversell() throws Exception {
+        int attempts = 15;
+        ExecutorService executor = Executors.newFixedThreadPool(CLIENTS);
+        List<Future<Integer>> statuses = new ArrayList<>();
+        try {
+            for (int i = 0; i < attempts; i++) {
+                statuses.add(executor.submit(() -> mockMvc.perform(post("/api/product/" + product.getId() + "/stock")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"delta\": -1}"))
+                        .andReturn().getResponse().getStatus()));
+            }
+            int accepted = 0;
+            int rejected = 0;
+            for (Future<Integer> status : statuses) {
+                int code = status.get();
+                if (code == 200) {
+                    accepted++;
+                } else if (code == 409) {
+                    rejected++;
+                }
+            }
+            assertEquals(10, accepted);
+            assertEquals(attempts - 10, rejected);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Product soldOut = productRepository.findById(product.getId()).orElseThrow();
+        assertEquals(0, soldOut.getQuantity());
+        assertEquals(product.getVersion() + 10, soldOut.getVersion());
+        assertEquals(10, movementRepository.count());
+        assertEquals(0, valuationService.reconcile());
+    }
+
+    private ResultActions adjust(Long id, String body, int status) throws Exception {
+        return mockMvc.perform(post("/api/product/" + id + "/stock")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().is(status));
+    }
+
+}
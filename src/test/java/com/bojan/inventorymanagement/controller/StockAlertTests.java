@@ -0,0 +1,120 @@
+package com.bojan.inventorymanagement.controller;
+
+import com.bojan.inventorymanagement.model.Category;
+import com.bojan.inventorymanagement.model.Product;
+import com.bojan.inventorymanagement.model.Supplier;
+import com.bojan.inventorymanagement.repository.CategoryRepository;
+import com.bojan.inventorymanagement.repository.ProductRepository;
+import com.bojan.inventorymanagement.repository.SupplierRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that low-stock alerts follow the stock writes that cross a reorder threshold.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Sql("/clean-database.sql")
+class StockAlertTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    private Category category;
+
+    private Product product;
+
+    @BeforeEach
+    void seedProduct() {
+        category = categoryRepository.save(Category.builder()
+                .name("Beverages")
+                .description("Drinks")
+                .build());
+        Supplier supplier = supplierRepository.save(Supplier.builder()
+                .name("Drinks Co")
+                .contactName("Bob Brown")
+                .email("bob@drinks.com")
+                .phone("555-0100")
+                .address("1 Main Street")
+                .build());
+        product = productRepository.save(Product.builder()
+                .name("Apple Juice")
+                .description("1l bottle")
+                .price(new BigDecimal("2.50"))
+                .quantity(10)
+                .reorderThreshold(5)
+                .category(category)
+                .supplier(supplier)
+                .build());
+    }
+
+    @Test
+    void stockChangesOpenAndResolveAlerts() throws Exception {
+        setQuantity(4);
+        mockMvc.perform(get("/api/alerts"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].productId").value(product.getId()))
+                .andExpect(jsonPath("$.items[0].quantity").value(4))
+                .andExpect(jsonPath("$.items[0].threshold").value(5));
+
+        // Dropping further keeps the single alert open
+        setQuantity(3);
+        mockMvc.perform(get("/api/alerts"))
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].quantity").value(3));
+
+        setQuantity(5);
+        mockMvc.perform(get("/api/alerts"))
+                .andExpect(jsonPath("$.items.length()").value(0));
+    }
+
+    @Test
+    void categoryThresholdAppliesToProductsWithoutOwnThreshold() throws Exception {
+        product.setReorderThreshold(null);
+        productRepository.save(product);
+
+        mockMvc.perform(put("/api/category/" + category.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Beverages\", \"description\": \"Drinks\", \"reorderThreshold\": 20}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/alerts"))
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].threshold").value(20));
+    }
+
+    // Sets an absolute quantity through PATCH, the stock adjustment endpoint is covered by StockAdjustmentTests
+    private void setQuantity(int quantity) throws Exception {
+        mockMvc.perform(patch("/api/product/" + product.getId())
+                        .contentType("application/merge-patch+json")
+                        .content("{\"quantity\": " + quantity + "}"))
+                .andExpect(status().isOk());
+    }
+
+}
@@ -0,0 +1,162 @@
+package com.bojan.inventorymanagement.controller;
+
+import com.bojan.inventorymanagement.event.StockMovedEvent;
+import com.bojan.inventorymanagement.model.Category;
+import com.bojan.inventorymanagement.model.MovementType;
+import com.bojan.inventorymanagement.model.StockMovement;
+import com.bojan.inventorymanagement.model.StockSnapshot;
+import com.bojan.inventorymanagement.model.Supplier;
+import com.bojan.inventorymanagement.repository.CategoryRepository;
+import com.bojan.inventorymanagement.repository.PendingSnapshotMovementRepository;
+import com.bojan.inventorymanagement.repository.StockSnapshotRepository;
+import com.bojan.inventorymanagement.repository.SupplierRepository;
+import com.bojan.inventorymanagement.service.StockLedgerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that quantity changes are recorded in the stock ledger and that
+ * as-of quantities are computed correctly from snapshots plus the movement tail.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Sql("/clean-database.sql")
+class StockLedgerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private StockSnapshotRepository snapshotRepository;
+
+    @Autowired
+    private PendingSnapshotMovementRepository pendingRepository;
+
+    @Autowired
+    private StockLedgerService ledgerService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Test
+    void productWritesAreRecorded() throws Exception {
+        Category category = categoryRepository.save(Category.builder().name("Tools").description("Hand tools").build());
+        Supplier supplier = supplierRepository.save(Supplier.builder()
+                .name("Tool Shop").contactName("Carl").email("carl@tools.com").phone("555-0101").address("2 Side Street")
+                .build());
+        Instant beforeCreate = Instant.now();
+
+        String response = mockMvc.perform(post("/api/product")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Hammer\", \"description\": \"Claw hammer\", \"price\": 12.00, \"quantity\": 10, "
+                                + "\"categoryId\": " + category.getId() + ", \"supplierId\": " + supplier.getId() + "}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        long id = Long.parseLong(response.replaceAll(".*\"id\":(\\d+).*", "$1"));
+
+        mockMvc.perform(patch("/api/product/" + id)
+                        .contentType("application/merge-patch+json")
+                        .content("{\"quantity\": 7}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/product/" + id + "/movements"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].type").value("ADJUSTMENT"))
+                .andExpect(jsonPath("$.items[0].quantityChange").value(-3))
+                .andExpect(jsonPath("$.items[1].type").value("RECEIPT"))
+                .andExpect(jsonPath("$.items[1].quantityChange").value(10));
+        mockMvc.perform(get("/api/product/" + id + "/stock"))
+                .andExpect(jsonPath("$.quantity").value(7));
+        mockMvc.perform(get("/api/product/" + id + "/stock").param("asOf", beforeCreate.toString()))
+                .andExpect(jsonPath("$.quantity").value(0));
+    }
+
+    @Test
+    void asOfQuantitiesCombineSnapshotAndTail() {
+        long productId = 4242L;
+        // The database rounds timestamps to microseconds, which could move a movement past an exact as-of time
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        record(movement(productId, MovementType.RECEIPT, 50, now.minus(Duration.ofDays(3))),
+                movement(productId, MovementType.PICK, -20, now.minus(Duration.ofDays(2))),
+                movement(productId, MovementType.PICK, -5, now.minus(Duration.ofDays(1))));
+
+        assertEquals(1, ledgerService.takeSnapshots());
+        // Movements after the snapshot form the tail that as-of queries add to it
+        record(movement(productId, MovementType.RECEIPT, 4, now.minus(Duration.ofMinutes(1))));
+
+        assertEquals(25, ledgerService.getQuantityAsOf(productId, now.minus(Duration.ofHours(1))));
+        assertEquals(29, ledgerService.getQuantityAsOf(productId, now));
+        assertEquals(30, ledgerService.getQuantityAsOf(productId, now.minus(Duration.ofDays(2))));
+        assertEquals(0, ledgerService.getQuantityAsOf(productId, now.minus(Duration.ofDays(4))));
+        // Nothing moved since the last run
+        assertEquals(0, ledgerService.takeSnapshots());
+    }
+
+    @Test
+    void lateMovementIsAddedToTheSnapshots() {
+        long productId = 4343L;
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        record(movement(productId, MovementType.RECEIPT, 10, now.minus(Duration.ofDays(2))));
+        assertEquals(1, ledgerService.takeSnapshots());
+        StockSnapshot first = snapshotRepository.findAll().get(0);
+        assertEquals(10, first.getQuantity());
+
+        // Stamped before the run, but committed after it had read the pending movements
+        record(movement(productId, MovementType.PICK, -3, now.minus(Duration.ofDays(1))));
+        assertEquals(0, ledgerService.takeSnapshots());
+        assertEquals(7, snapshotRepository.findById(new StockSnapshot.Key(productId, first.getTakenAt())).orElseThrow().getQuantity());
+        assertEquals(0, pendingRepository.count());
+
+        record(movement(productId, MovementType.RECEIPT, 5, Instant.now()));
+        assertEquals(1, ledgerService.takeSnapshots());
+        Instant later = Instant.now().plus(Duration.ofHours(1));
+        assertEquals(12, snapshotRepository.findFirstByProductIdAndTakenAtLessThanEqualOrderByTakenAtDesc(productId, later)
+                .orElseThrow().getQuantity());
+        assertEquals(12, ledgerService.getQuantityAsOf(productId, later));
+        assertEquals(10, ledgerService.getQuantityAsOf(productId, now.minus(Duration.ofHours(36))));
+    }
+
+    /**
+     * Records movements the way the services do, through a stock moved event.
+     */
+    private void record(StockMovement... movements) {
+        eventPublisher.publishEvent(new StockMovedEvent(List.of(movements)));
+    }
+
+    private static StockMovement movement(long productId, MovementType type, int change, Instant at) {
+        return StockMovement.builder()
+                .productId(productId)
+                .type(type)
+                .quantityChange(change)
+                .occurredAt(at)
+                .build();
+    }
+
+}
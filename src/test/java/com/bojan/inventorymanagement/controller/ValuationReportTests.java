@@ -0,0 +1,117 @@
+package com.bojan.inventorymanagement.controller;
+
+import com.bojan.inventorymanagement.TestData;
+import com.bojan.inventorymanagement.model.Category;
+import com.bojan.inventorymanagement.model.InventoryValuation;
+import com.bojan.inventorymanagement.model.Supplier;
+import com.bojan.inventorymanagement.model.ValuationScope;
+import com.bojan.inventorymanagement.repository.CategoryRepository;
+import com.bojan.inventorymanagement.repository.InventoryValuationRepository;
+import com.bojan.inventorymanagement.repository.SupplierRepository;
+import com.bojan.inventorymanagement.service.InventoryValuationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that the valuation aggregates follow product writes and that reconciliation repairs them.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Sql("/clean-database.sql")
+class ValuationReportTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private InventoryValuationRepository valuationRepository;
+
+    @Autowired
+    private InventoryValuationService valuationService;
+
+    private Category category;
+
+    private Supplier supplier;
+
+    @BeforeEach
+    void seedReferences() {
+        category = categoryRepository.save(TestData.electronics().build());
+        supplier = supplierRepository.save(TestData.techWarehouse().build());
+    }
+
+    @Test
+    void aggregatesFollowProductWrites() throws Exception {
+        long laptopId = create("Laptop", "1500.00", 2);
+        create("Mouse", "25.50", 10);
+        expectTotal("3255.00", 12, 2);
+
+        mockMvc.perform(patch("/api/product/" + laptopId)
+                        .contentType("application/merge-patch+json")
+                        .content("{\"price\": 1400.00, \"quantity\": 3}"))
+                .andExpect(status().isOk());
+        expectTotal("4455.00", 13, 2);
+
+        mockMvc.perform(delete("/api/product/" + laptopId))
+                .andExpect(status().isNoContent());
+        expectTotal("255.00", 10, 1);
+        mockMvc.perform(get("/api/reports/valuation"))
+                .andExpect(jsonPath("$.byCategory[0].name").value("Electronics"))
+                .andExpect(jsonPath("$.bySupplier[0].value").value(255.00));
+
+        assertEquals(0, valuationService.reconcile());
+    }
+
+    @Test
+    void reconciliationRepairsDriftedAggregates() throws Exception {
+        create("Laptop", "1500.00", 2);
+        valuationRepository.save(new InventoryValuation(ValuationScope.CATEGORY, category.getId(), BigDecimal.ONE, 1, 1));
+
+        assertEquals(1, valuationService.reconcile());
+        expectTotal("3000.00", 2, 1);
+    }
+
+    private long create(String name, String price, int quantity) throws Exception {
+        String body = "{\"name\": \"" + name + "\", \"description\": \"" + name + "\", \"price\": " + price
+                + ", \"quantity\": " + quantity + ", \"categoryId\": " + category.getId()
+                + ", \"supplierId\": " + supplier.getId() + "}";
+        String response = mockMvc.perform(post("/api/product")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return Long.parseLong(response.replaceAll(".*\"id\":(\\d+).*", "$1"));
+    }
+
+    private void expectTotal(String value, long quantity, long productCount) throws Exception {
+        mockMvc.perform(get("/api/reports/valuation"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total.value").value(new BigDecimal(value).doubleValue()))
+                .andExpect(jsonPath("$.total.quantity").value(quantity))
+                .andExpect(jsonPath("$.total.productCount").value(productCount));
+    }
+
+}
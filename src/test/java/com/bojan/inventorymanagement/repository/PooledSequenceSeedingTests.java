@@ -0,0 +1,108 @@
+package com.bojan.inventorymanagement.repository;
+
+import com.bojan.inventorymanagement.model.Category;
+import com.bojan.inventorymanagement.model.Product;
+import com.bojan.inventorymanagement.model.Supplier;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks on PostgreSQL that schema-postgresql.sql moves the pooled ID sequences past rows that were
+ * inserted without them, so the first IDs Hibernate hands out after startup do not collide.
+ * Runs with -Ppostgres against a scratch database; see the postgres profile in the pom.
+ */
+@Tag("postgres")
+@SpringBootTest(properties = "inventory.scheduling.enabled=false")
+class PooledSequenceSeedingTests {
+
+    private static final int EXISTING_ROWS = 20;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void savingAfterSeedingDoesNotCollideWithExistingRows() {
+        // Rows inserted with explicit IDs, and sequences as Hibernate creates them
+        jdbcTemplate.execute("TRUNCATE product, category, supplier CASCADE");
+        List<Object[]> products = new ArrayList<>();
+        for (long id = 1; id <= EXISTING_ROWS; id++) {
+            jdbcTemplate.update("INSERT INTO category (id, name, description, version) VALUES (?, ?, 'Existing', 0)",
+                    id, "Category " + id);
+            jdbcTemplate.update("INSERT INTO supplier (id, name, contact_name, contact_email, contact_phone, address, version) "
+                    + "VALUES (?, ?, 'Contact', 'supplier@example.com', '555-0100', 'Test Street', 0)", id, "Supplier " + id);
+            products.add(new Object[]{id, "Product " + id, id, id});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO product (id, name, description, price, quantity, unit, category_id, supplier_id, version) "
+                + "VALUES (?, ?, 'Existing', 1.00, 0, 'pcs', ?, ?, 0)", products);
+        for (String sequence : List.of("category_seq", "supplier_seq", "product_seq")) {
+            jdbcTemplate.queryForObject("SELECT setval(?::regclass, 1, false)", Long.class, sequence);
+        }
+
+        runSchemaScript();
+        long seeded = productSequenceValue();
+        assertEquals(EXISTING_ROWS + 50, seeded);
+        // A second startup leaves the sequence alone
+        runSchemaScript();
+        assertEquals(seeded, productSequenceValue());
+
+        Category category = categoryRepository.save(Category.builder().name("New category").description("New").build());
+        Supplier supplier = supplierRepository.save(Supplier.builder()
+                .name("New supplier")
+                .contactName("Alice Smith")
+                .email("alice@tech.com")
+                .phone("123-456-7890")
+                .address("123 Oak Street")
+                .build());
+        Product product = productRepository.save(Product.builder()
+                .name("New product")
+                .description("New")
+                .price(new BigDecimal("9.99"))
+                .quantity(1)
+                .unit("pcs")
+                .category(category)
+                .supplier(supplier)
+                .build());
+
+        assertTrue(category.getId() > EXISTING_ROWS, () -> "Category ID " + category.getId());
+        assertTrue(supplier.getId() > EXISTING_ROWS, () -> "Supplier ID " + supplier.getId());
+        assertTrue(product.getId() > EXISTING_ROWS, () -> "Product ID " + product.getId());
+        assertEquals(EXISTING_ROWS + 1, productRepository.count());
+    }
+
+    private void runSchemaScript() {
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator(new ClassPathResource("schema-postgresql.sql"));
+        populator.setSeparator(ScriptUtils.EOF_STATEMENT_SEPARATOR);
+        populator.execute(dataSource);
+    }
+
+    private long productSequenceValue() {
+        return jdbcTemplate.queryForObject("SELECT last_value FROM product_seq", Long.class);
+    }
+
+}
@@ -0,0 +1,117 @@
+package com.bojan.inventorymanagement.repository;
+
+import com.bojan.inventorymanagement.dto.ProductFilterDTO;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Guards the indexes behind the product list filters.
+ * Seeds the product table and checks with EXPLAIN that the SQL Hibernate generates for the first page
+ * of every supported filter, as built by {@link ProductSpecifications}, is answered through the
+ * filter's index instead of a table scan. Filter values are inlined into the captured SQL.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.bojan.inventorymanagement.repository.ProductFilterIndexTests$CapturingStatementInspector",
+        "spring.jpa.properties.hibernate.criteria.value_handling_mode=inline"
+})
+@ActiveProfiles("test")
+@Sql(scripts = "/clean-database.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+@Sql(scripts = "/clean-database.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_CLASS)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ProductFilterIndexTests {
+
+    private static final int PRODUCT_COUNT = 2_000;
+    private static final int REFERENCE_COUNT = 50;
+    private static final int PAGE_SIZE = 51;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @BeforeAll
+    void seedProducts() {
+        List<Object[]> categories = new ArrayList<>();
+        List<Object[]> suppliers = new ArrayList<>();
+        for (long i = 1; i <= REFERENCE_COUNT; i++) {
+            categories.add(new Object[]{i, "Category " + i, "Test category"});
+            suppliers.add(new Object[]{i, "Supplier " + i, "Contact " + i, "supplier" + i + "@example.com", "555-0100", "Test Street " + i});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO category (id, name, description) VALUES (?, ?, ?)", categories);
+        jdbcTemplate.batchUpdate("INSERT INTO supplier (id, name, contact_name, contact_email, contact_phone, address) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", suppliers);
+
+        List<Object[]> products = new ArrayList<>();
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            products.add(new Object[]{
+                    "Product " + i,
+                    "Test product",
+                    BigDecimal.valueOf(i % 10_000, 2),
+                    i % 1000,
+                    "unit" + (i % 20),
+                    (long) (i % REFERENCE_COUNT) + 1,
+                    (long) ((i / REFERENCE_COUNT) % REFERENCE_COUNT) + 1
+            });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO product (id, name, description, price, quantity, unit, category_id, supplier_id) "
+                + "VALUES (NEXT VALUE FOR product_seq, ?, ?, ?, ?, ?, ?, ?)", products);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @CsvSource(delimiter = '|', value = {
+            "category           | 7 |   |       |       |   |",
+            "category, supplier | 7 | 3 |       |       |   |",
+            "supplier           |   | 3 |       |       |   |",
+            "price range        |   |   | 10.00 | 10.50 |   |",
+            "quantity below     |   |   |       |       | 5 |",
+            "unit               |   |   |       |       |   | unit7"
+    })
+    void filterUsesIndex(String filter, Long categoryId, Long supplierId, BigDecimal minPrice, BigDecimal maxPrice,
+                         Integer quantityBelow, String unit) {
+        ProductFilterDTO filterDTO = new ProductFilterDTO(categoryId, supplierId, minPrice, maxPrice, quantityBelow, unit);
+        CapturingStatementInspector.STATEMENTS.clear();
+        productRepository.findDtos(ProductSpecifications.matching(filterDTO), 0, PAGE_SIZE);
+        assertEquals(1, CapturingStatementInspector.STATEMENTS.size(), () -> "Statements: " + CapturingStatementInspector.STATEMENTS);
+        String sql = CapturingStatementInspector.STATEMENTS.get(0);
+
+        // Only the page size is still bound as a parameter
+        Object[] pageSize = Collections.nCopies((int) sql.chars().filter(c -> c == '?').count(), PAGE_SIZE).toArray();
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, pageSize));
+        assertFalse(plan.contains("tableScan"), () -> "Filter '" + filter + "' scans the product table:\n" + plan);
+    }
+
+    /**
+     * Records the SQL of the statements Hibernate prepares, so the test can EXPLAIN the generated query.
+     */
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+
+    }
+
+}
@@ -0,0 +1,11 @@
+-- Empties every table the tests write to, referencing tables before the tables they reference.
+-- Run before each test method with @Sql("/clean-database.sql"); add new tables here.
+DELETE FROM inventory_valuation;
+DELETE FROM stock_alert;
+DELETE FROM pending_snapshot_movement;
+DELETE FROM stock_snapshot;
+DELETE FROM stock_movement;
+DELETE FROM product_import_staging;
+DELETE FROM product;
+DELETE FROM category;
+DELETE FROM supplier;